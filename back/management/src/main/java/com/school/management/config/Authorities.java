@@ -0,0 +1,28 @@
+// config/Authorities.java
+package com.school.management.config;
+
+/**
+ * Règles d'accès des contrôleurs (@PreAuthorize), d'après le rôle porté par le jeton.
+ */
+public final class Authorities {
+
+    private Authorities() {
+    }
+
+    // Tout utilisateur connecté, enseignants compris
+    public static final String ANY_USER = "isAuthenticated()";
+
+    // Personnel de l'établissement, hors enseignants
+    public static final String SCHOOL_STAFF = "hasAnyRole('ADMIN_STAFF', 'ACADEMIC_STAFF', 'STUDY_DIRECTOR')";
+
+    // Administration : finances, inventaire, personnel et comptes
+    public static final String ADMINISTRATION = "hasAnyRole('ADMIN_STAFF', 'STUDY_DIRECTOR')";
+
+    // Vie pédagogique : notes et évaluations
+    public static final String ACADEMIC = "hasAnyRole('TEACHER', 'ACADEMIC_STAFF', 'STUDY_DIRECTOR')";
+
+    public static final String DIRECTION = "hasRole('STUDY_DIRECTOR')";
+
+    // Administration, ou l'utilisateur lui-même (sub du jeton = id)
+    public static final String ADMINISTRATION_OR_SELF = ADMINISTRATION + " or #id.toString() == authentication.name";
+}
@@ -0,0 +1,22 @@
+// config/ConditionalGet.java
+package com.school.management.config;
+
+import com.school.management.service.ResourceVersions;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lecture servie avec un ETag tiré des versions des ressources dont dépend la réponse ;
+ * un If-None-Match à jour reçoit 304 sans que la méthode du contrôleur soit appelée
+ * (après le contrôle d'accès). Réservée aux réponses construites pendant l'appel : un
+ * corps écrit plus tard (StreamingResponseBody) serait lu hors de la base principale.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    ResourceVersions.Resource[] value();
+}
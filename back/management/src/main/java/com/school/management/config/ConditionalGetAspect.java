@@ -0,0 +1,81 @@
+// config/ConditionalGetAspect.java
+package com.school.management.config;
+
+import com.school.management.service.ResourceVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * GET conditionnels des méthodes annotées @ConditionalGet. L'aspect s'exécute à
+ * l'intérieur de la sécurité des méthodes (@PreAuthorize) : un 304 n'est jamais
+ * renvoyé à un utilisateur qui n'a pas accès à la liste.
+ * <p>
+ * L'ETag est calculé avant la lecture, et la méthode s'exécute dans une transaction en
+ * écriture : les lectures des services s'y joignent et partent vers la base principale.
+ * Le corps est donc au moins aussi récent que son ETag ; le réplica, en retard, pourrait
+ * renvoyer d'anciennes lignes sous une version déjà incrémentée. Une écriture validée
+ * pendant la lecture rend au pire la réponse plus récente que son ETag, et le client la
+ * recharge simplement au passage suivant.
+ * <p>
+ * Les ETags sont faibles : Tomcat ne compresse jamais une réponse portant un ETag fort,
+ * et If-None-Match compare de toute façon les ETags au sens faible.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ConditionalGetAspect {
+
+    // Données authentifiées : gardées par le navigateur seul, et revalidées à chaque usage
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate primaryRead;
+
+    public ConditionalGetAspect(ResourceVersions resourceVersions, PlatformTransactionManager transactionManager) {
+        this.resourceVersions = resourceVersions;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+    }
+
+    @Around("@annotation(conditionalGet)")
+    public Object conditionalGet(ProceedingJoinPoint joinPoint, ConditionalGet conditionalGet) throws Throwable {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null || !isRead(attributes.getRequest())) {
+            return joinPoint.proceed();
+        }
+        HttpServletResponse response = attributes.getResponse();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        // Pose l'ETag ; si le client a déjà cette version, Spring MVC répond 304 sans corps
+        if (new ServletWebRequest(attributes.getRequest(), response)
+                .checkNotModified(resourceVersions.etag(conditionalGet.value()))) {
+            return null;
+        }
+        return primaryRead.execute(status -> {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
@@ -0,0 +1,70 @@
+// config/DataSourceRoutingConfig.java
+package com.school.management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Deux pools JDBC : le primaire (spring.datasource.*) pour les écritures et un réplica
+ * facultatif (app.datasource.replica.*) pour les transactions {@code readOnly = true}.
+ * La connexion physique n'est choisie qu'à la première requête, une fois le caractère
+ * lecture seule de la transaction connu.
+ * <p>
+ * La réplique peut avoir quelques secondes de retard. Les lectures suivantes passent donc
+ * toujours par une transaction en écriture (base principale), jamais {@code readOnly} :
+ * <ul>
+ *   <li>{@code PrincipalCache} : chargement du principal d'un jeton (compte désactivé, rôle modifié) ;</li>
+ *   <li>{@code UserService.authenticate} : compte vérifié à la connexion (mot de passe changé) ;</li>
+ *   <li>{@code ConditionalGetAspect} : version et contenu servis par un GET conditionnel ;</li>
+ *   <li>{@code EquipmentService.getMaintenanceWorklist} : recalcul de la liste de maintenance ;</li>
+ *   <li>{@code SearchIndexService.rebuild} : reconstruction des index de recherche ;</li>
+ *   <li>{@code StatisticsService.reconcile} : recalcul des compteurs du tableau de bord.</li>
+ * </ul>
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica.jdbc-url")
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource readOnlyDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource readOnlyDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+}
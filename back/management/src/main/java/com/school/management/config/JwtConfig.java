@@ -0,0 +1,90 @@
+// config/JwtConfig.java
+package com.school.management.config;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Jetons d'accès signés (HMAC SHA-256) : vérifiés par la seule signature et les
+ * revendications, sans accès à la base. Le décodeur déclaré ici est celui du serveur
+ * de ressources ; il refuse les jetons de rafraîchissement.
+ */
+@Slf4j
+@Configuration
+public class JwtConfig {
+
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+    public static final String ROLE_CLAIM = "role";
+    public static final String USERNAME_CLAIM = "username";
+
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKey signingKey;
+    private final String issuer;
+
+    public JwtConfig(@Value("${app.security.jwt.secret:}") String secret,
+                     @Value("${app.security.jwt.issuer:school-management}") String issuer) {
+        this.signingKey = new SecretKeySpec(secretBytes(secret), "HmacSHA256");
+        this.issuer = issuer;
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder() {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(signingKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        return decoder(ACCESS_TOKEN);
+    }
+
+    /** Décodeur des jetons du type donné, utilisé aussi pour les jetons de rafraîchissement. */
+    public JwtDecoder decoder(String tokenType) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(signingKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(issuer),
+                new JwtClaimValidator<String>(TOKEN_TYPE_CLAIM, tokenType::equals)));
+        return decoder;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    // Sans secret configuré, une clé aléatoire : les jetons ne survivent pas au redémarrage
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.security.jwt.secret non défini : clé de signature aléatoire, "
+                    + "les sessions seront perdues au redémarrage");
+            byte[] random = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = Base64.getDecoder().decode(secret.trim());
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("app.security.jwt.secret doit contenir au moins "
+                    + MIN_SECRET_BYTES + " octets encodés en Base64");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,92 @@
+// config/QueryPlanChecker.java
+package com.school.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signale les requêtes SELECT de l'application dont le plan parcourt une table entière.
+ * Les requêtes sont lues dans le résumé par empreinte de performance_schema (MySQL 8),
+ * qui conserve un exemple avec ses valeurs réelles ; chaque exemple ayant été exécuté
+ * sans index est repassé dans EXPLAIN. Le résumé couvre toute la durée de vie du serveur
+ * MySQL : le contrôle au démarrage porte donc sur les requêtes des exécutions précédentes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.db.plan-check.enabled", havingValue = "true")
+public class QueryPlanChecker {
+
+    private static final int MAX_DIGESTS = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long minRows;
+
+    public QueryPlanChecker(JdbcTemplate jdbcTemplate,
+                            @Value("${app.db.plan-check.min-rows:1000}") long minRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minRows = minRows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.db.plan-check.cron:0 0 3 * * *}")
+    public void check() {
+        List<Map<String, Object>> digests;
+        try {
+            digests = jdbcTemplate.queryForList(
+                    "SELECT QUERY_SAMPLE_TEXT AS sample, COUNT_STAR AS executions, " +
+                            "SUM_NO_INDEX_USED AS noIndex " +
+                            "FROM performance_schema.events_statements_summary_by_digest " +
+                            "WHERE SCHEMA_NAME = DATABASE() AND SUM_NO_INDEX_USED > 0 " +
+                            "AND DIGEST_TEXT LIKE 'SELECT%' " +
+                            "ORDER BY SUM_ROWS_EXAMINED DESC LIMIT " + MAX_DIGESTS);
+        } catch (DataAccessException e) {
+            log.info("Contrôle des plans indisponible (performance_schema inaccessible) : {}", e.getMessage());
+            return;
+        }
+
+        int reported = 0;
+        for (Map<String, Object> digest : digests) {
+            String sample = (String) digest.get("sample");
+            if (sample == null || sample.endsWith("...")) {
+                continue; // exemple tronqué par performance_schema_max_sql_text_length
+            }
+            for (Map<String, Object> step : explain(sample)) {
+                if (isFullScan(step)) {
+                    reported++;
+                    log.warn("Parcours complet de {} (~{} lignes, {} exécutions dont {} sans index) : {}",
+                            step.get("table"), step.get("rows"), digest.get("executions"),
+                            digest.get("noIndex"), sample);
+                }
+            }
+        }
+        log.info("Contrôle des plans : {} requête(s) examinée(s), {} parcours complet(s) signalé(s)",
+                digests.size(), reported);
+    }
+
+    private List<Map<String, Object>> explain(String sql) {
+        try {
+            return jdbcTemplate.queryForList("EXPLAIN " + sql);
+        } catch (DataAccessException e) {
+            log.debug("EXPLAIN impossible pour {} : {}", sql, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // type ALL : parcours de la table entière (un parcours d'index couvrant n'est pas signalé)
+    private boolean isFullScan(Map<String, Object> step) {
+        Object rows = step.get("rows");
+        return "ALL".equals(step.get("type"))
+                && rows instanceof Number number
+                && number.longValue() >= minRows;
+    }
+}
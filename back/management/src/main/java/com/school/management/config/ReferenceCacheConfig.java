@@ -0,0 +1,73 @@
+// config/ReferenceCacheConfig.java
+package com.school.management.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de second niveau Hibernate (JCache / Caffeine) pour les données de référence :
+ * matières, classes, enseignants, leurs collections et les recherches par section,
+ * langue ou niveau. Chaque région est bornée en taille et en durée de vie ; la région
+ * des horodatages, qui invalide les résultats de requêtes, ne doit jamais expirer.
+ */
+@Configuration
+public class ReferenceCacheConfig {
+
+    // Entités et collections de référence (Subject, Class, Teacher)
+    public static final String ENTITY_REGION = "reference-entities";
+
+    // Résultats des requêtes de recherche sur les données de référence
+    public static final String LOOKUP_REGION = "reference-lookups";
+
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceCacheManager(
+            @Value("${app.cache.reference.max-entries:10000}") long maxEntries,
+            @Value("${app.cache.reference.ttl:1h}") Duration ttl,
+            @Value("${app.cache.lookups.max-entries:2000}") long maxLookups) {
+        // Un gestionnaire propre à ce contexte (l'URI par défaut est partagée par tout le chargeur de classes)
+        CacheManager cacheManager = Caching.getCachingProvider(PROVIDER).getCacheManager(
+                URI.create("reference-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(ENTITY_REGION, bounded(maxEntries, ttl));
+        cacheManager.createCache(LOOKUP_REGION, bounded(maxLookups, ttl));
+        cacheManager.createCache(DEFAULT_QUERY_REGION, bounded(maxLookups, ttl));
+        cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceCacheCustomizer(CacheManager referenceCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, referenceCacheManager);
+            // Une région non déclarée ci-dessus est une erreur de configuration
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Compteurs de succès / échecs exposés par /api/statistics/cache
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxEntries, Duration ttl) {
+        return new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maxEntries))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    }
+}
@@ -0,0 +1,68 @@
+// config/ReplicaLagMonitor.java
+package com.school.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mesure périodiquement le retard du réplica (SHOW REPLICA STATUS, MySQL 8.0.22+,
+ * privilège REPLICATION CLIENT) et l'écarte des lectures au-delà du retard toléré,
+ * si la réplication est arrêtée ou si le serveur ne répond pas.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.jdbc-url")
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final long maxLagSeconds;
+
+    private Boolean lastUsable;
+
+    public ReplicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                             ReplicaRoutingDataSource routingDataSource,
+                             @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.routingDataSource = routingDataSource;
+        this.maxLagSeconds = maxLag.toSeconds();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        Long lag;
+        try {
+            lag = replicaJdbcTemplate.query("SHOW REPLICA STATUS", rs -> {
+                if (!rs.next()) {
+                    return 0L; // pas de canal de réplication : point de lecture géré, considéré à jour
+                }
+                long seconds = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? null : seconds;
+            });
+        } catch (DataAccessException e) {
+            log.debug("Mesure du retard du réplica impossible : {}", e.getMessage());
+            lag = null;
+        }
+
+        boolean usable = lag != null && lag <= maxLagSeconds;
+        routingDataSource.replicaChecked(lag, usable);
+        if (!Boolean.valueOf(usable).equals(lastUsable)) {
+            lastUsable = usable;
+            if (usable) {
+                log.info("Réplica à jour (retard {} s) : lectures seules dirigées vers le réplica", lag);
+            } else {
+                log.warn("Réplica en retard ou indisponible (retard {} s, toléré {} s) : lectures seules sur le primaire",
+                        lag, maxLagSeconds);
+            }
+        }
+    }
+}
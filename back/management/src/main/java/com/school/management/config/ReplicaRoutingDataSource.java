@@ -0,0 +1,87 @@
+// config/ReplicaRoutingDataSource.java
+package com.school.management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source des connexions des transactions en lecture seule : le réplica tant qu'il est
+ * déclaré à jour par {@link ReplicaLagMonitor}, sinon le primaire. Sans réplica
+ * configuré, tout part vers le primaire.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    private final AtomicLong primaryReads = new AtomicLong();
+    private final AtomicLong replicaReads = new AtomicLong();
+
+    // Réplica écarté jusqu'à la première mesure du retard
+    private volatile boolean replicaUsable;
+    private volatile Long replicaLagSeconds;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        if (replica != null) {
+            targets.put(REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replica != null && replicaUsable) {
+            replicaReads.incrementAndGet();
+            return REPLICA;
+        }
+        primaryReads.incrementAndGet();
+        return PRIMARY;
+    }
+
+    /** Retard mesuré en secondes ({@code null} : réplication arrêtée ou réplica injoignable). */
+    void replicaChecked(Long lagSeconds, boolean usable) {
+        this.replicaLagSeconds = lagSeconds;
+        this.replicaUsable = usable;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("replicaConfigured", replica != null);
+        result.put("replicaUsable", replica != null && replicaUsable);
+        result.put("replicaLagSeconds", replicaLagSeconds);
+        result.put("readOnlyConnections", Map.of(PRIMARY, primaryReads.get(), REPLICA, replicaReads.get()));
+        result.put(PRIMARY, poolStatistics(primary));
+        if (replica != null) {
+            result.put(REPLICA, poolStatistics(replica));
+        }
+        return result;
+    }
+
+    // Pool pas encore démarré (aucune connexion demandée) : compteurs à zéro
+    private static Map<String, Object> poolStatistics(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("active", pool != null ? pool.getActiveConnections() : 0);
+        result.put("idle", pool != null ? pool.getIdleConnections() : 0);
+        result.put("total", pool != null ? pool.getTotalConnections() : 0);
+        result.put("waiting", pool != null ? pool.getThreadsAwaitingConnection() : 0);
+        result.put("maximumPoolSize", dataSource.getMaximumPoolSize());
+        return result;
+    }
+}
@@ -1,31 +1,51 @@
 package com.school.management.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+/**
+ * API sans état : chaque requête porte un jeton d'accès (Authorization: Bearer) vérifié
+ * par signature, sans session. L'utilisateur et son rôle viennent du cache PrincipalCache
+ * (aucune lecture de la table users en régime établi) et sont contrôlés par les
+ * @PreAuthorize des contrôleurs.
+ */
 @Configuration
+@EnableMethodSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           UserAuthenticationConverter userAuthenticationConverter) throws Exception {
         http
-                .csrf().disable() // désactive la protection CSRF
+                .csrf(AbstractHttpConfigurer::disable) // jetons dans l'en-tête, pas de cookie de session
+                .cors(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().permitAll() // autorise tous les endpoints
+                        .requestMatchers(HttpMethod.POST, "/api/users/login", "/api/users/refresh").permitAll()
+                        .requestMatchers("/error").permitAll()
+                        .anyRequest().authenticated()
                 )
-                .formLogin().disable() // désactive le formulaire de login
-                .httpBasic().disable(); // désactive l'authentification basic
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(userAuthenticationConverter)))
+                .formLogin(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable);
 
         return http.build();
     }
 
+    // Relever le coût met à niveau les empreintes existantes à la connexion suivante
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
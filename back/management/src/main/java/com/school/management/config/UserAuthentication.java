@@ -0,0 +1,37 @@
+// config/UserAuthentication.java
+package com.school.management.config;
+
+import com.school.management.dto.projection.UserPrincipal;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+/**
+ * Authentification d'une requête : le jeton vérifié et l'utilisateur en cache. Le rôle
+ * accordé est celui du cache, un changement de rôle s'applique donc sans attendre
+ * l'expiration du jeton.
+ */
+public class UserAuthentication extends AbstractAuthenticationToken {
+
+    private final UserPrincipal principal;
+    private final Jwt token;
+
+    public UserAuthentication(UserPrincipal principal, Jwt token) {
+        super(List.of(new SimpleGrantedAuthority("ROLE_" + principal.role().name())));
+        this.principal = principal;
+        this.token = token;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public UserPrincipal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public Jwt getCredentials() {
+        return token;
+    }
+}
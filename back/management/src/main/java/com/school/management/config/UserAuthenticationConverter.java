@@ -0,0 +1,31 @@
+// config/UserAuthenticationConverter.java
+package com.school.management.config;
+
+import com.school.management.dto.projection.UserPrincipal;
+import com.school.management.service.PrincipalCache;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Associe un jeton vérifié à l'utilisateur en cache et refuse (401) les jetons d'un
+ * compte désactivé ou supprimé, ou émis avant le dernier changement de mot de passe.
+ */
+@Component
+public class UserAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private final PrincipalCache principalCache;
+
+    public UserAuthenticationConverter(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        UserPrincipal principal = principalCache.getValid(Long.valueOf(jwt.getSubject()), jwt.getIssuedAt())
+                .orElseThrow(() -> new DisabledException("Session expirée ou compte désactivé, veuillez vous reconnecter"));
+        return new UserAuthentication(principal, jwt);
+    }
+}
@@ -0,0 +1,32 @@
+// config/VirtualThreadsCheck.java
+package com.school.management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Profil « virtual » : sous Java 17, Spring Boot ignore spring.threads.virtual.enabled et
+ * l'application tournerait sans rien signaler avec le pool de threads Tomcat, mais avec le
+ * pool JDBC dimensionné pour les threads virtuels. Le démarrage est donc refusé.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsCheck {
+
+    private static final int MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsCheck() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled exige Java "
+                    + MIN_JAVA_VERSION + " (version actuelle : " + javaVersion + ") ; compiler avec mvn -Pjava21");
+        }
+        // Un thread virtuel bloqué dans un bloc synchronized immobilise son thread porteur
+        if (System.getProperty("jdk.tracePinnedThreads") == null) {
+            log.info("Threads virtuels actifs ; -Djdk.tracePinnedThreads=short signale les blocages "
+                    + "dans des sections synchronized");
+        }
+    }
+}
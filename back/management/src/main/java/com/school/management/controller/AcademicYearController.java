@@ -0,0 +1,36 @@
+package com.school.management.controller;
+
+import com.school.management.config.Authorities;
+import com.school.management.entity.AcademicYearClosure;
+import com.school.management.service.AcademicYearService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/academic-years")
+@CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.DIRECTION)
+public class AcademicYearController {
+
+    @Autowired
+    private AcademicYearService academicYearService;
+
+    // Déplace les notes, paiements, documents et incidents résolus de l'année dans les archives
+    @PostMapping("/{academicYear}/close")
+    public ResponseEntity<AcademicYearClosure> closeYear(
+            @PathVariable String academicYear,
+            @RequestParam(value = "closedBy", required = false) String closedBy) {
+        AcademicYearClosure closure = academicYearService.closeYear(academicYear, closedBy);
+        return new ResponseEntity<>(closure, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/closures")
+    public ResponseEntity<List<AcademicYearClosure>> getClosures() {
+        return ResponseEntity.ok(academicYearService.getClosures());
+    }
+}
@@ -1,15 +1,20 @@
 // controller/ClassController.java
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.config.ConditionalGet;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Class;
 import com.school.management.entity.Student;
 import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
 import com.school.management.service.ClassService;
+import com.school.management.service.ResourceVersions.Resource;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -20,28 +25,43 @@ import java.util.Map;
 @RequestMapping("/api/classes")
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
+@PreAuthorize(Authorities.ANY_USER)
 public class ClassController {
 
     private final ClassService classService;
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping
     public ResponseEntity<Class> createClass(@Valid @RequestBody Class classEntity) {
         Class response = classService.createClass(classEntity);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @ConditionalGet({Resource.CLASSES, Resource.SUBJECTS, Resource.TEACHERS})
     @GetMapping
     public ResponseEntity<List<Class>> getAllClasses() {
         List<Class> classes = classService.getAllClasses();
         return ResponseEntity.ok(classes);
     }
 
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @ConditionalGet({Resource.CLASSES, Resource.SUBJECTS, Resource.TEACHERS})
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<Class>> scrollClasses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<Class> page = classService.getClassesPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Class> getClassById(@PathVariable Long id) {
         Class classEntity = classService.getClassById(id);
         return ResponseEntity.ok(classEntity);
     }
 
+    @ConditionalGet({Resource.CLASSES, Resource.SUBJECTS, Resource.TEACHERS})
     @GetMapping("/section/{section}")
     public ResponseEntity<List<Class>> getClassesBySection(@PathVariable String section) {
         try {
@@ -53,6 +73,7 @@ public class ClassController {
         }
     }
 
+    @ConditionalGet({Resource.CLASSES, Resource.SUBJECTS, Resource.TEACHERS})
     @GetMapping("/language/{language}")
     public ResponseEntity<List<Class>> getClassesByLanguage(@PathVariable String language) {
         try {
@@ -84,6 +105,7 @@ public class ClassController {
         return ResponseEntity.ok(stats);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PutMapping("/{id}")
     public ResponseEntity<Class> updateClass(
             @PathVariable Long id,
@@ -92,18 +114,21 @@ public class ClassController {
         return ResponseEntity.ok(response);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClass(@PathVariable Long id) {
         classService.deleteClass(id);
         return ResponseEntity.noContent().build();
     }
 
+    @ConditionalGet({Resource.CLASSES, Resource.SUBJECTS, Resource.TEACHERS})
     @GetMapping("/academic-year/{year}")
     public ResponseEntity<List<Class>> getClassesByAcademicYear(@PathVariable String year) {
         List<Class> classes = classService.getClassesByAcademicYear(year);
         return ResponseEntity.ok(classes);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PutMapping("/{classId}/assign-teacher/{teacherId}")
     public ResponseEntity<Class> assignTeacher(
             @PathVariable Long classId,
@@ -112,6 +137,7 @@ public class ClassController {
         return ResponseEntity.ok(updatedClass);
     }
 
+    @ConditionalGet({Resource.CLASSES, Resource.SUBJECTS, Resource.TEACHERS})
     @GetMapping("/section/{section}/language/{language}")
     public ResponseEntity<List<Class>> getClassesBySectionAndLanguage(
             @PathVariable String section,
@@ -126,6 +152,7 @@ public class ClassController {
         }
     }
 
+    @ConditionalGet({Resource.CLASSES, Resource.SUBJECTS, Resource.TEACHERS})
     @GetMapping("/teacher/{teacherId}")
     public ResponseEntity<List<Class>> getClassesByTeacher(@PathVariable Long teacherId) {
         List<Class> classes = classService.getClassesByTeacher(teacherId);
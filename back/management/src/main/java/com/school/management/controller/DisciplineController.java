@@ -1,7 +1,9 @@
 // controller/DisciplineController.java
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
 import com.school.management.dto.request.DisciplineCreateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.DisciplineResponse;
 import com.school.management.entity.enums.DisciplineType;
 import com.school.management.service.DisciplineService;
@@ -10,8 +12,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -22,10 +27,12 @@ import java.util.Map;
 @RequestMapping("/api/disciplines")
 @CrossOrigin(origins = "*")
 @RequiredArgsConstructor
+@PreAuthorize(Authorities.ANY_USER)
 public class DisciplineController {
 
     private final DisciplineService disciplineService;
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping
     public ResponseEntity<DisciplineResponse> createDiscipline(@Valid @RequestBody DisciplineCreateRequest request) {
         DisciplineResponse response = disciplineService.createDiscipline(request);
@@ -38,15 +45,35 @@ public class DisciplineController {
         return ResponseEntity.ok(disciplines);
     }
 
+    // Liste complète écrite en flux, lot par lot : mémoire constante pour les exports volumineux
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamDisciplines() {
+        StreamingResponseBody body = disciplineService::writeAllDisciplines;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<DisciplineResponse>> scrollDisciplines(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<DisciplineResponse> page = disciplineService.getDisciplinesPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DisciplineResponse> getDisciplineById(@PathVariable Long id) {
         DisciplineResponse discipline = disciplineService.getDisciplineById(id);
         return ResponseEntity.ok(discipline);
     }
 
+    // includeArchived : ajoute les incidents résolus des années clôturées
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<DisciplineResponse>> getDisciplinesByStudent(@PathVariable Long studentId) {
-        List<DisciplineResponse> disciplines = disciplineService.getDisciplinesByStudent(studentId);
+    public ResponseEntity<List<DisciplineResponse>> getDisciplinesByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<DisciplineResponse> disciplines = disciplineService.getDisciplinesByStudent(studentId, includeArchived);
         return ResponseEntity.ok(disciplines);
     }
 
@@ -103,6 +130,7 @@ public class DisciplineController {
         return ResponseEntity.ok(counts);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PutMapping("/{id}")
     public ResponseEntity<DisciplineResponse> updateDiscipline(
             @PathVariable Long id,
@@ -111,6 +139,7 @@ public class DisciplineController {
         return ResponseEntity.ok(response);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDiscipline(@PathVariable Long id) {
         disciplineService.deleteDiscipline(id);
@@ -123,6 +152,7 @@ public class DisciplineController {
         return ResponseEntity.ok(pendingActions);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping("/{id}/resolve")
     public ResponseEntity<DisciplineResponse> resolveDiscipline(
             @PathVariable Long id,
@@ -1,31 +1,46 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Document;
+import com.school.management.service.DocumentExportService;
 import com.school.management.service.DocumentService;
+import com.school.management.util.FileDownloads;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/documents")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ANY_USER)
 public class DocumentController {
 
     @Autowired
     private DocumentService documentService;
 
+    @Autowired
+    private DocumentExportService documentExportService;
+
+    // Réponse asynchrone : la réception du fichier se fait hors des threads HTTP
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping("/upload")
-    public ResponseEntity<Document> uploadDocument(
+    public CompletableFuture<ResponseEntity<Document>> uploadDocument(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "studentId", required = false) Long studentId,
             @RequestParam("documentType") String documentType,
@@ -33,27 +48,19 @@ public class DocumentController {
             @RequestParam(value = "term", required = false) String term,
             @RequestParam(value = "createdBy", required = false) String createdBy) {
 
-        try {
-            Document response = documentService.uploadDocument(file, studentId, documentType,
-                    academicYear, term, createdBy);
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
-        } catch (IOException e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        return documentService.uploadDocument(file, studentId, documentType, academicYear, term, createdBy)
+                .thenApply(document -> new ResponseEntity<>(document, HttpStatus.CREATED));
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping("/upload-simple")
-    public ResponseEntity<Document> uploadDocumentSimple(
+    public CompletableFuture<ResponseEntity<Document>> uploadDocumentSimple(
             @RequestParam("file") MultipartFile file,
             @RequestParam(value = "studentId", required = false) Long studentId,
             @RequestParam("documentType") String documentType) {
 
-        try {
-            Document response = documentService.uploadDocument(file, studentId, documentType);
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
-        } catch (IOException e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        return documentService.uploadDocument(file, studentId, documentType)
+                .thenApply(document -> new ResponseEntity<>(document, HttpStatus.CREATED));
     }
 
     @GetMapping
@@ -62,33 +69,72 @@ public class DocumentController {
         return ResponseEntity.ok(documents);
     }
 
+    // Liste complète écrite en flux, lot par lot : mémoire constante pour les exports volumineux
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamDocuments() {
+        StreamingResponseBody body = documentService::writeAllDocuments;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<Document>> scrollDocuments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<Document> page = documentService.getDocumentsPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Document> getDocumentById(@PathVariable Long id) {
         Document document = documentService.getDocumentById(id);
         return ResponseEntity.ok(document);
     }
 
+    // Téléchargement en flux (plages d'octets et requêtes conditionnelles gérées) ;
+    // archived=true pour un document d'une année clôturée
     @GetMapping("/{id}/download")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id) {
-        try {
-            byte[] documentBytes = documentService.downloadDocument(id);
-            Document document = documentService.getDocumentById(id);
+    public void downloadDocument(@PathVariable Long id,
+                                 @RequestParam(defaultValue = "false") boolean archived,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        DocumentService.StoredFile file = documentService.getStoredFile(id, archived);
+
+        if (new ServletWebRequest(request, response).checkNotModified(file.etag(), file.lastModified())) {
+            return;
+        }
 
-            ByteArrayResource resource = new ByteArrayResource(documentBytes);
+        FileDownloads.send(request, response, file.path(), file.length(), file.lastModified(),
+                file.etag(), file.mimeType(), file.name());
+    }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(document.getMimeType()))
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + document.getName() + "\"")
-                    .body(resource);
-        } catch (IOException e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    // Archive ZIP des documents filtrés, écrite en flux dans la réponse
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDocuments(
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String term,
+            @RequestParam(required = false) String documentType) {
+        documentExportService.checkFilter(classId, academicYear, term, documentType);
+
+        StreamingResponseBody body = out ->
+                documentExportService.writeZip(classId, academicYear, term, documentType, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("documents.zip")
+                        .build()
+                        .toString())
+                .body(body);
     }
 
+    // includeArchived : ajoute les documents des années clôturées
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<Document>> getDocumentsByStudent(@PathVariable Long studentId) {
-        List<Document> documents = documentService.getDocumentsByStudent(studentId);
+    public ResponseEntity<List<Document>> getDocumentsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Document> documents = documentService.getDocumentsByStudent(studentId, includeArchived);
         return ResponseEntity.ok(documents);
     }
 
@@ -99,8 +145,10 @@ public class DocumentController {
     }
 
     @GetMapping("/academic-year/{academicYear}")
-    public ResponseEntity<List<Document>> getDocumentsByAcademicYear(@PathVariable String academicYear) {
-        List<Document> documents = documentService.getDocumentsByAcademicYear(academicYear);
+    public ResponseEntity<List<Document>> getDocumentsByAcademicYear(
+            @PathVariable String academicYear,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<Document> documents = documentService.getDocumentsByAcademicYear(academicYear, includeArchived);
         return ResponseEntity.ok(documents);
     }
 
@@ -118,6 +166,7 @@ public class DocumentController {
         return ResponseEntity.ok(documents);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDocument(@PathVariable Long id) {
         try {
@@ -1,11 +1,17 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.dto.response.CursorPageResponse;
+import com.school.management.dto.response.MaintenanceWorklistResponse;
 import com.school.management.entity.Equipment;
 import com.school.management.service.EquipmentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,6 +19,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/equipment")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ADMINISTRATION)
 public class EquipmentController {
 
     @Autowired
@@ -30,6 +37,16 @@ public class EquipmentController {
         return ResponseEntity.ok(equipment);
     }
 
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<Equipment>> scrollEquipment(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<Equipment> page = equipmentService.getEquipmentPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Equipment> getEquipmentById(@PathVariable Long id) {
         Equipment equipment = equipmentService.getEquipmentById(id);
@@ -72,6 +89,34 @@ public class EquipmentController {
         return ResponseEntity.ok(equipment);
     }
 
+    @GetMapping("/maintenance-due/paginated")
+    public ResponseEntity<Page<Equipment>> getEquipmentNeedingMaintenancePaginated(Pageable pageable) {
+        Page<Equipment> equipment = equipmentService.getEquipmentNeedingMaintenance(pageable);
+        return ResponseEntity.ok(equipment);
+    }
+
+    @GetMapping("/maintenance-upcoming")
+    public ResponseEntity<Page<Equipment>> getEquipmentMaintenanceDueWithin(
+            @RequestParam(defaultValue = "30") int days,
+            Pageable pageable) {
+        Page<Equipment> equipment = equipmentService.getEquipmentMaintenanceDueWithin(days, pageable);
+        return ResponseEntity.ok(equipment);
+    }
+
+    @GetMapping("/maintenance-worklist")
+    public ResponseEntity<MaintenanceWorklistResponse> getMaintenanceWorklist() {
+        MaintenanceWorklistResponse worklist = equipmentService.getMaintenanceWorklist();
+        return ResponseEntity.ok(worklist);
+    }
+
+    @GetMapping("/warranty-expiring")
+    public ResponseEntity<Page<Equipment>> getEquipmentWarrantyExpiringWithin(
+            @RequestParam(defaultValue = "30") int days,
+            Pageable pageable) {
+        Page<Equipment> equipment = equipmentService.getEquipmentWarrantyExpiringWithin(days, pageable);
+        return ResponseEntity.ok(equipment);
+    }
+
     @GetMapping("/under-warranty")
     public ResponseEntity<List<Equipment>> getEquipmentUnderWarranty() {
         List<Equipment> equipment = equipmentService.getEquipmentUnderWarranty();
@@ -0,0 +1,69 @@
+package com.school.management.controller;
+
+import com.school.management.config.Authorities;
+import com.school.management.entity.FeeSchedule;
+import com.school.management.entity.StudentBalance;
+import com.school.management.service.FeeLedgerService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/fees")
+@CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ADMINISTRATION)
+public class FeeController {
+
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @PostMapping("/schedules")
+    public ResponseEntity<FeeSchedule> createFeeSchedule(@Valid @RequestBody FeeSchedule feeSchedule) {
+        FeeSchedule response = feeLedgerService.createFeeSchedule(feeSchedule);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/schedules")
+    public ResponseEntity<List<FeeSchedule>> getFeeSchedules(@RequestParam(required = false) String academicYear) {
+        List<FeeSchedule> schedules = academicYear != null
+                ? feeLedgerService.getFeeSchedulesByAcademicYear(academicYear)
+                : feeLedgerService.getAllFeeSchedules();
+        return ResponseEntity.ok(schedules);
+    }
+
+    @GetMapping("/schedules/{id}")
+    public ResponseEntity<FeeSchedule> getFeeScheduleById(@PathVariable Long id) {
+        return ResponseEntity.ok(feeLedgerService.getFeeScheduleById(id));
+    }
+
+    @PutMapping("/schedules/{id}")
+    public ResponseEntity<FeeSchedule> updateFeeSchedule(@PathVariable Long id,
+                                                         @Valid @RequestBody FeeSchedule feeSchedule) {
+        FeeSchedule response = feeLedgerService.updateFeeSchedule(id, feeSchedule);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/schedules/{id}")
+    public ResponseEntity<Void> deleteFeeSchedule(@PathVariable Long id) {
+        feeLedgerService.deleteFeeSchedule(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/balances/student/{studentId}")
+    public ResponseEntity<List<StudentBalance>> getStudentBalances(@PathVariable Long studentId) {
+        return ResponseEntity.ok(feeLedgerService.getStudentBalances(studentId));
+    }
+
+    // Recalcul des soldes d'une année (après une correction de données, par exemple)
+    @PostMapping("/balances/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildBalances(@RequestParam String academicYear) {
+        int rows = feeLedgerService.refreshYear(academicYear);
+        return ResponseEntity.ok(Map.of("updatedRows", rows));
+    }
+}
@@ -1,12 +1,20 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.dto.request.GradeBatchCreateRequest;
 import com.school.management.dto.request.GradeCreateRequest;
+import com.school.management.dto.response.ClassReportCardsResponse;
+import com.school.management.dto.response.CursorPageResponse;
+import com.school.management.dto.response.GradeBatchResponse;
 import com.school.management.dto.response.GradeResponse;
+import com.school.management.dto.response.ReportCardResponse;
 import com.school.management.service.GradeService;
+import com.school.management.service.ReportCardService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -16,26 +24,51 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/grades")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ACADEMIC)
 public class GradeController {
 
     @Autowired
     private GradeService gradeService;
 
+    @Autowired
+    private ReportCardService reportCardService;
+
     @PostMapping
     public ResponseEntity<GradeResponse> createGrade(@Valid @RequestBody GradeCreateRequest request) {
         GradeResponse response = gradeService.createGrade(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<GradeBatchResponse> createGradesBatch(@Valid @RequestBody GradeBatchCreateRequest request) {
+        GradeBatchResponse response = gradeService.createGradesBatch(request);
+        HttpStatus status = response.getCreated() > 0 || response.getSubmitted() == 0
+                ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return new ResponseEntity<>(response, status);
+    }
+
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<GradeResponse>> scrollGrades(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<GradeResponse> page = gradeService.getGradesPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<GradeResponse> getGradeById(@PathVariable Long id) {
         GradeResponse grade = gradeService.getGradeById(id);
         return ResponseEntity.ok(grade);
     }
 
+    // includeArchived : ajoute les notes des années clôturées
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<GradeResponse>> getGradesByStudent(@PathVariable Long studentId) {
-        List<GradeResponse> grades = gradeService.getGradesByStudent(studentId);
+    public ResponseEntity<List<GradeResponse>> getGradesByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<GradeResponse> grades = gradeService.getGradesByStudent(studentId, includeArchived);
         return ResponseEntity.ok(grades);
     }
 
@@ -61,6 +94,33 @@ public class GradeController {
         return ResponseEntity.ok(Map.of("average", average));
     }
 
+    @GetMapping("/student/{studentId}/weighted-average")
+    public ResponseEntity<Map<String, BigDecimal>> getStudentWeightedAverage(
+            @PathVariable Long studentId,
+            @RequestParam String semester,
+            @RequestParam String academicYear) {
+        BigDecimal average = reportCardService.calculateWeightedAverage(studentId, semester, academicYear);
+        return ResponseEntity.ok(Map.of("average", average));
+    }
+
+    @GetMapping("/student/{studentId}/report-card")
+    public ResponseEntity<ReportCardResponse> getStudentReportCard(
+            @PathVariable Long studentId,
+            @RequestParam String semester,
+            @RequestParam String academicYear) {
+        ReportCardResponse reportCard = reportCardService.getStudentReportCard(studentId, semester, academicYear);
+        return ResponseEntity.ok(reportCard);
+    }
+
+    @GetMapping("/class/{classId}/report-cards")
+    public ResponseEntity<ClassReportCardsResponse> getClassReportCards(
+            @PathVariable Long classId,
+            @RequestParam String semester,
+            @RequestParam String academicYear) {
+        ClassReportCardsResponse reportCards = reportCardService.getClassReportCards(classId, semester, academicYear);
+        return ResponseEntity.ok(reportCards);
+    }
+
     @GetMapping("/subject/{subjectId}/average")
     public ResponseEntity<Map<String, BigDecimal>> getSubjectAverage(
             @PathVariable Long subjectId,
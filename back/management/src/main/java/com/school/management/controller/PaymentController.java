@@ -1,13 +1,22 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.dto.projection.OutstandingBalance;
 import com.school.management.dto.request.PaymentCreateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.PaymentResponse;
+import com.school.management.service.FeeLedgerService;
 import com.school.management.service.PaymentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -16,11 +25,15 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/payments")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ADMINISTRATION)
 public class PaymentController {
 
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
     @PostMapping
     public ResponseEntity<PaymentResponse> createPayment(@Valid @RequestBody PaymentCreateRequest request) {
         PaymentResponse response = paymentService.createPayment(request);
@@ -33,9 +46,29 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    // Liste complète écrite en flux, lot par lot : mémoire constante pour les exports volumineux
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamPayments() {
+        StreamingResponseBody body = paymentService::writeAllPayments;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<PaymentResponse>> scrollPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<PaymentResponse> page = paymentService.getPaymentsPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
+    // includeArchived : ajoute les paiements des années clôturées
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<PaymentResponse>> getPaymentsByStudent(@PathVariable Long studentId) {
-        List<PaymentResponse> payments = paymentService.getPaymentsByStudent(studentId);
+    public ResponseEntity<List<PaymentResponse>> getPaymentsByStudent(
+            @PathVariable Long studentId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<PaymentResponse> payments = paymentService.getPaymentsByStudent(studentId, includeArchived);
         return ResponseEntity.ok(payments);
     }
 
@@ -46,4 +79,20 @@ public class PaymentController {
         BigDecimal total = paymentService.getTotalPaymentsByStudent(studentId, academicYear);
         return ResponseEntity.ok(Map.of("totalAmount", total));
     }
-}
\ No newline at end of file
+
+    // Élèves ayant un reste à payer, du plus grand au plus petit (soldes matérialisés)
+    @GetMapping("/outstanding")
+    public ResponseEntity<Page<OutstandingBalance>> getOutstandingBalances(
+            @RequestParam String academicYear,
+            @RequestParam(defaultValue = "0") BigDecimal minAmount,
+            Pageable pageable) {
+        Page<OutstandingBalance> balances = feeLedgerService.getOutstandingBalances(academicYear, minAmount, pageable);
+        return ResponseEntity.ok(balances);
+    }
+
+    @GetMapping("/outstanding/total")
+    public ResponseEntity<Map<String, BigDecimal>> getTotalOutstanding(@RequestParam String academicYear) {
+        BigDecimal total = feeLedgerService.getTotalOutstanding(academicYear);
+        return ResponseEntity.ok(Map.of("totalOutstanding", total));
+    }
+}
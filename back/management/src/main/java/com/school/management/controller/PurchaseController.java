@@ -1,5 +1,8 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.dto.projection.MonthlyPurchaseTotal;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Purchase;
 import com.school.management.service.PurchaseService;
 import jakarta.validation.Valid;
@@ -8,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -18,6 +22,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/purchases")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ADMINISTRATION)
 public class PurchaseController {
 
     @Autowired
@@ -35,6 +40,16 @@ public class PurchaseController {
         return ResponseEntity.ok(purchases);
     }
 
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<Purchase>> scrollPurchases(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<Purchase> page = purchaseService.getPurchasesPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Purchase> getPurchaseById(@PathVariable Long id) {
         Purchase purchase = purchaseService.getPurchaseById(id);
@@ -130,6 +145,22 @@ public class PurchaseController {
         return ResponseEntity.ok(summary);
     }
 
+    @GetMapping("/summary/monthly")
+    public ResponseEntity<List<MonthlyPurchaseTotal>> getMonthlySummary(
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        List<MonthlyPurchaseTotal> summary = purchaseService.getMonthlySummary(startDate, endDate);
+        return ResponseEntity.ok(summary);
+    }
+
+    @GetMapping("/summary/category-monthly")
+    public ResponseEntity<List<MonthlyPurchaseTotal>> getMonthlySummaryByCategory(
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate) {
+        List<MonthlyPurchaseTotal> summary = purchaseService.getMonthlySummaryByCategory(startDate, endDate);
+        return ResponseEntity.ok(summary);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Purchase> updatePurchase(
             @PathVariable Long id,
@@ -1,5 +1,7 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Staff;
 import com.school.management.entity.enums.UserRole;
 import com.school.management.service.StaffService;
@@ -9,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,6 +19,7 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/staff")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ADMINISTRATION)
 public class StaffController {
 
     @Autowired
@@ -34,6 +38,16 @@ public class StaffController {
         return ResponseEntity.ok(staff);
     }
 
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<Staff>> scrollStaff(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<Staff> page = staffService.getStaffPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     // Nouvelle méthode pour la pagination si nécessaire
     @GetMapping("/paginated")
     public ResponseEntity<Page<Staff>> getAllStaffPaginated(Pageable pageable) {
@@ -2,8 +2,13 @@ package com.school.management.controller;
 
 // src/main/java/com/school/management/controller/StatisticsController.java
 
+import com.school.management.config.Authorities;
+import com.school.management.config.ReplicaRoutingDataSource;
+import com.school.management.service.PrincipalCache;
+import com.school.management.service.ReferenceCacheService;
 import com.school.management.service.StatisticsService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,12 +17,22 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/statistics")
+@PreAuthorize(Authorities.SCHOOL_STAFF)
 public class StatisticsController {
 
     private final StatisticsService statisticsService;
+    private final ReferenceCacheService referenceCacheService;
+    private final ReplicaRoutingDataSource readOnlyDataSource;
+    private final PrincipalCache principalCache;
 
-    public StatisticsController(StatisticsService statisticsService) {
+    public StatisticsController(StatisticsService statisticsService,
+                                ReferenceCacheService referenceCacheService,
+                                ReplicaRoutingDataSource readOnlyDataSource,
+                                PrincipalCache principalCache) {
         this.statisticsService = statisticsService;
+        this.referenceCacheService = referenceCacheService;
+        this.readOnlyDataSource = readOnlyDataSource;
+        this.principalCache = principalCache;
     }
 
     @GetMapping
@@ -25,4 +40,22 @@ public class StatisticsController {
         Map<String, Object> statistics = statisticsService.getStatistics();
         return ResponseEntity.ok(statistics);
     }
+
+    // Taux de succès du cache des données de référence (matières, classes, enseignants)
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(referenceCacheService.getStatistics());
+    }
+
+    // Cache des utilisateurs authentifiés (contrôles d'accès sans lecture de users)
+    @GetMapping("/cache/principals")
+    public ResponseEntity<Map<String, Object>> getPrincipalCacheStatistics() {
+        return ResponseEntity.ok(principalCache.getStatistics());
+    }
+
+    // Pools primaire / réplica : connexions, attente, retard du réplica
+    @GetMapping("/datasources")
+    public ResponseEntity<Map<String, Object>> getDataSourceStatistics() {
+        return ResponseEntity.ok(readOnlyDataSource.getStatistics());
+    }
 }
\ No newline at end of file
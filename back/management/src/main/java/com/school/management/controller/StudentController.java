@@ -1,29 +1,38 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.config.ConditionalGet;
 import com.school.management.dto.request.StudentCreateRequest;
 import com.school.management.dto.request.StudentUpdateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.StudentResponse;
 import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
+import com.school.management.service.ResourceVersions.Resource;
 import com.school.management.service.StudentService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/students")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ANY_USER)
 public class StudentController {
 
     @Autowired
     private StudentService studentService;
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping
     public ResponseEntity<StudentResponse> createStudent(@Valid @RequestBody StudentCreateRequest request) {
         StudentResponse response = studentService.createStudent(request);
@@ -31,13 +40,33 @@ public class StudentController {
     }
 
     // Utilise getAllStudents() sans pagination comme dans le service
+    @ConditionalGet({Resource.STUDENTS, Resource.CLASSES})
     @GetMapping
     public ResponseEntity<List<StudentResponse>> getAllStudents() {
         List<StudentResponse> students = studentService.getAllStudents();
         return ResponseEntity.ok(students);
     }
 
+    // Liste complète écrite en flux, lot par lot : mémoire constante pour les exports volumineux
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamStudents() {
+        StreamingResponseBody body = studentService::writeAllStudents;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @ConditionalGet({Resource.STUDENTS, Resource.CLASSES})
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<StudentResponse>> scrollStudents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<StudentResponse> page = studentService.getStudentsPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     // Nouvelle méthode pour la pagination
+    @ConditionalGet({Resource.STUDENTS, Resource.CLASSES})
     @GetMapping("/paginated")
     public ResponseEntity<Page<StudentResponse>> getAllStudentsPaginated(Pageable pageable) {
         // Utilise getStudentsBySearch avec une chaîne vide pour la pagination
@@ -51,6 +80,7 @@ public class StudentController {
         return ResponseEntity.ok(student);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PutMapping("/{id}")
     public ResponseEntity<StudentResponse> updateStudent(
             @PathVariable Long id,
@@ -59,24 +89,28 @@ public class StudentController {
         return ResponseEntity.ok(response);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
         studentService.deleteStudent(id);
         return ResponseEntity.noContent().build();
     }
 
+    @ConditionalGet({Resource.STUDENTS, Resource.CLASSES})
     @GetMapping("/class/{classId}")
     public ResponseEntity<List<StudentResponse>> getStudentsByClass(@PathVariable Long classId) {
         List<StudentResponse> students = studentService.getStudentsByClass(classId);
         return ResponseEntity.ok(students);
     }
 
+    @ConditionalGet({Resource.STUDENTS, Resource.CLASSES})
     @GetMapping("/section/{section}")
     public ResponseEntity<List<StudentResponse>> getStudentsBySection(@PathVariable Section section) {
         List<StudentResponse> students = studentService.getStudentsBySection(section);
         return ResponseEntity.ok(students);
     }
 
+    @ConditionalGet({Resource.STUDENTS, Resource.CLASSES})
     @GetMapping("/language/{language}")
     public ResponseEntity<List<StudentResponse>> getStudentsByLanguage(@PathVariable Language language) {
         List<StudentResponse> students = studentService.getStudentsByLanguage(language);
@@ -84,6 +118,7 @@ public class StudentController {
     }
 
     // Utilise getStudentsBySearch au lieu de searchStudents
+    @ConditionalGet({Resource.STUDENTS, Resource.CLASSES})
     @GetMapping("/search")
     public ResponseEntity<Page<StudentResponse>> searchStudents(
             @RequestParam(required = false, defaultValue = "") String search,
@@ -1,12 +1,17 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.config.ConditionalGet;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Subject;
 import com.school.management.entity.enums.Section;
+import com.school.management.service.ResourceVersions.Resource;
 import com.school.management.service.SubjectService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -14,11 +19,13 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/subjects")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ANY_USER)
 public class SubjectController {
 
     @Autowired
     private SubjectService subjectService;
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping
     public ResponseEntity<Subject> createSubject(@Valid @RequestBody Subject subject) {
         Subject response = subjectService.createSubject(subject);
@@ -26,30 +33,45 @@ public class SubjectController {
     }
 
     // Utilise getAllSubjects() sans pagination comme dans le service
+    @ConditionalGet({Resource.SUBJECTS, Resource.CLASSES, Resource.TEACHERS})
     @GetMapping
     public ResponseEntity<List<Subject>> getAllSubjects() {
         List<Subject> subjects = subjectService.getAllSubjects();
         return ResponseEntity.ok(subjects);
     }
 
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @ConditionalGet({Resource.SUBJECTS, Resource.CLASSES, Resource.TEACHERS})
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<Subject>> scrollSubjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<Subject> page = subjectService.getSubjectsPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Subject> getSubjectById(@PathVariable Long id) {
         Subject subject = subjectService.getSubjectById(id);
         return ResponseEntity.ok(subject);
     }
 
+    @ConditionalGet({Resource.SUBJECTS, Resource.CLASSES, Resource.TEACHERS})
     @GetMapping("/teacher/{teacherId}")
     public ResponseEntity<List<Subject>> getSubjectsByTeacher(@PathVariable Long teacherId) {
         List<Subject> subjects = subjectService.getSubjectsByTeacher(teacherId);
         return ResponseEntity.ok(subjects);
     }
 
+    @ConditionalGet({Resource.SUBJECTS, Resource.CLASSES, Resource.TEACHERS})
     @GetMapping("/section/{section}")
     public ResponseEntity<List<Subject>> getSubjectsBySection(@PathVariable Section section) {
         List<Subject> subjects = subjectService.getSubjectsBySection(section);
         return ResponseEntity.ok(subjects);
     }
 
+    @ConditionalGet({Resource.SUBJECTS, Resource.CLASSES, Resource.TEACHERS})
     @GetMapping("/search")
     public ResponseEntity<List<Subject>> searchSubjects(
             @RequestParam(required = false, defaultValue = "") String search) {
@@ -57,6 +79,7 @@ public class SubjectController {
         return ResponseEntity.ok(subjects);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PutMapping("/{id}")
     public ResponseEntity<Subject> updateSubject(
             @PathVariable Long id,
@@ -65,6 +88,7 @@ public class SubjectController {
         return ResponseEntity.ok(response);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSubject(@PathVariable Long id) {
         subjectService.deleteSubject(id);
@@ -72,6 +96,7 @@ public class SubjectController {
     }
 
     // Gestion des enseignants
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping("/{subjectId}/teacher/{teacherId}")
     public ResponseEntity<Subject> assignTeacherToSubject(
             @PathVariable Long subjectId,
@@ -80,6 +105,7 @@ public class SubjectController {
         return ResponseEntity.ok(subject);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @DeleteMapping("/{subjectId}/teacher")
     public ResponseEntity<Subject> removeTeacherFromSubject(@PathVariable Long subjectId) {
         Subject subject = subjectService.removeTeacher(subjectId);
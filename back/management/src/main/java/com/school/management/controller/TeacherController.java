@@ -1,12 +1,17 @@
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.config.ConditionalGet;
 import com.school.management.dto.request.TeacherCreateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.TeacherResponse;
+import com.school.management.service.ResourceVersions.Resource;
 import com.school.management.service.TeacherService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -14,11 +19,13 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/teachers")
 @CrossOrigin(origins = "*")
+@PreAuthorize(Authorities.ANY_USER)
 public class TeacherController {
 
     @Autowired
     private TeacherService teacherService;
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PostMapping
     public ResponseEntity<TeacherResponse> createTeacher(@Valid @RequestBody TeacherCreateRequest request) {
         TeacherResponse response = teacherService.createTeacher(request);
@@ -26,12 +33,24 @@ public class TeacherController {
     }
 
     // Utilise getAllTeachers() sans pagination comme dans le service
+    @ConditionalGet({Resource.TEACHERS, Resource.CLASSES})
     @GetMapping
     public ResponseEntity<List<TeacherResponse>> getAllTeachers() {
         List<TeacherResponse> teachers = teacherService.getAllTeachers();
         return ResponseEntity.ok(teachers);
     }
 
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @ConditionalGet({Resource.TEACHERS, Resource.CLASSES})
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<TeacherResponse>> scrollTeachers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<TeacherResponse> page = teacherService.getTeachersPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TeacherResponse> getTeacherById(@PathVariable Long id) {
         TeacherResponse teacher = teacherService.getTeacherById(id);
@@ -44,12 +63,14 @@ public class TeacherController {
         return ResponseEntity.ok(teacher);
     }
 
+    @ConditionalGet({Resource.TEACHERS, Resource.CLASSES})
     @GetMapping("/specialization/{specialization}")
     public ResponseEntity<List<TeacherResponse>> getTeachersBySpecialization(@PathVariable String specialization) {
         List<TeacherResponse> teachers = teacherService.getTeachersBySpecialization(specialization);
         return ResponseEntity.ok(teachers);
     }
 
+    @ConditionalGet({Resource.TEACHERS, Resource.CLASSES})
     @GetMapping("/search")
     public ResponseEntity<List<TeacherResponse>> searchTeachers(
             @RequestParam(required = false, defaultValue = "") String search) {
@@ -57,6 +78,7 @@ public class TeacherController {
         return ResponseEntity.ok(teachers);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @PutMapping("/{id}")
     public ResponseEntity<TeacherResponse> updateTeacher(
             @PathVariable Long id,
@@ -65,6 +87,7 @@ public class TeacherController {
         return ResponseEntity.ok(response);
     }
 
+    @PreAuthorize(Authorities.SCHOOL_STAFF)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTeacher(@PathVariable Long id) {
         teacherService.deleteTeacher(id);
@@ -1,40 +1,60 @@
 // controller/UserController.java
 package com.school.management.controller;
 
+import com.school.management.config.Authorities;
+import com.school.management.dto.projection.UserPrincipal;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.User;
 import com.school.management.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*") // Corrigé: valeur manquante
+@PreAuthorize(Authorities.ADMINISTRATION)
 public class UserController {
 
     @Autowired
     private UserService userService;
 
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
-        User response = userService.createUser(user);
+    public ResponseEntity<User> createUser(@Valid @RequestBody User user,
+                                           @AuthenticationPrincipal UserPrincipal principal) {
+        User response = userService.createUser(user, principal);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    // Réponse asynchrone : la vérification BCrypt se fait hors des threads HTTP
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> credentials) {
+    @PreAuthorize("permitAll()")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> login(@RequestBody Map<String, String> credentials,
+                                                                       HttpServletRequest request) {
         String username = credentials.get("username");
         String password = credentials.get("password");
 
-        Map<String, Object> loginResult = userService.authenticate(username, password);
-        return ResponseEntity.ok(loginResult);
+        return userService.authenticate(username, password, request.getRemoteAddr())
+                .thenApply(ResponseEntity::ok);
+    }
+
+    // Nouveau jeton d'accès à partir du jeton de rafraîchissement reçu à la connexion
+    @PostMapping("/refresh")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<Map<String, Object>> refresh(@RequestBody Map<String, String> body) {
+        Map<String, Object> tokens = userService.refresh(body.get("refreshToken"));
+        return ResponseEntity.ok(tokens);
     }
 
     @GetMapping
@@ -43,7 +63,25 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    // Pagination par curseur : renvoyer nextCursor pour obtenir la page suivante
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<User>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPageResponse<User> page = userService.getUsersPage(cursor, size, withTotal);
+        return ResponseEntity.ok(page);
+    }
+
+    // Utilisateur connecté : rôle, fiches enseignant / personnel liées
+    @GetMapping("/me")
+    @PreAuthorize(Authorities.ANY_USER)
+    public ResponseEntity<UserPrincipal> getCurrentUser(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(principal);
+    }
+
     @GetMapping("/{id}")
+    @PreAuthorize(Authorities.ADMINISTRATION_OR_SELF)
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         User user = userService.getUserById(id);
         return ResponseEntity.ok(user);
@@ -58,12 +96,14 @@ public class UserController {
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(
             @PathVariable Long id,
-            @Valid @RequestBody User user) {
-        User response = userService.updateUser(id, user);
+            @Valid @RequestBody User user,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        User response = userService.updateUser(id, user, principal);
         return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{id}/password")
+    @PreAuthorize(Authorities.ADMINISTRATION_OR_SELF)
     public ResponseEntity<Void> changePassword(
             @PathVariable Long id,
             @RequestBody Map<String, String> passwordData) {
@@ -0,0 +1,23 @@
+// dto/projection/DisciplineRow.java
+package com.school.management.dto.projection;
+
+import com.school.management.entity.enums.DisciplineType;
+
+import java.time.LocalDate;
+
+/**
+ * Colonnes d'un incident disciplinaire nécessaires à DisciplineResponse.
+ */
+public record DisciplineRow(
+        Long id,
+        String studentFirstName,
+        String studentLastName,
+        DisciplineType type,
+        LocalDate incidentDate,
+        String description,
+        String action,
+        Boolean resolved,
+        LocalDate createdAt,
+        String reportedBy
+) {
+}
@@ -0,0 +1,17 @@
+// dto/projection/DocumentExportRow.java
+package com.school.management.dto.projection;
+
+/**
+ * Métadonnées minimales d'un document pour l'export ZIP (pas d'entité chargée).
+ */
+public record DocumentExportRow(
+        Long id,
+        String name,
+        String type,
+        String contentHash,
+        String filePath,
+        String mimeType,
+        String studentFirstName,
+        String studentLastName
+) {
+}
@@ -0,0 +1,19 @@
+// dto/projection/EquipmentMaintenanceRow.java
+package com.school.management.dto.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Ligne de la liste de maintenance : équipement dont la maintenance est échue ou prochaine.
+ */
+public record EquipmentMaintenanceRow(
+        Long id,
+        String name,
+        String serialNumber,
+        String category,
+        String location,
+        String assignedTo,
+        String status,
+        LocalDate maintenanceDate
+) {
+}
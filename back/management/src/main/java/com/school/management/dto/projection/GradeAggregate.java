@@ -0,0 +1,20 @@
+// dto/projection/GradeAggregate.java
+package com.school.management.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Somme et nombre de notes d'un élève dans une matière, calculés par la base.
+ * Les champs de matière sont nuls pour un élève sans aucune note sur la période.
+ */
+public record GradeAggregate(
+        Long studentId,
+        String firstName,
+        String lastName,
+        Long subjectId,
+        String subjectName,
+        Integer coefficient,
+        BigDecimal sum,
+        Long count
+) {
+}
@@ -0,0 +1,24 @@
+// dto/projection/GradeRow.java
+package com.school.management.dto.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Colonnes d'une note nécessaires à GradeResponse, élève et matière compris.
+ */
+public record GradeRow(
+        Long id,
+        Long studentId,
+        String studentFirstName,
+        String studentLastName,
+        Long subjectId,
+        String subjectName,
+        BigDecimal value,
+        String semester,
+        String academicYear,
+        String examType,
+        LocalDate gradeDate,
+        String comments
+) {
+}
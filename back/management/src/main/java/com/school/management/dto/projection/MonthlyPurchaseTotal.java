@@ -0,0 +1,16 @@
+// dto/projection/MonthlyPurchaseTotal.java
+package com.school.management.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Total des achats d'un mois, éventuellement ventilé par catégorie (null sinon).
+ */
+public record MonthlyPurchaseTotal(
+        Integer year,
+        Integer month,
+        String category,
+        BigDecimal total,
+        Long purchaseCount
+) {
+}
@@ -0,0 +1,19 @@
+// dto/projection/OutstandingBalance.java
+package com.school.management.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne de la liste des impayés, lue directement depuis les soldes matérialisés.
+ */
+public record OutstandingBalance(
+        Long studentId,
+        String firstName,
+        String lastName,
+        String className,
+        String academicYear,
+        BigDecimal amountDue,
+        BigDecimal amountPaid,
+        BigDecimal outstanding
+) {
+}
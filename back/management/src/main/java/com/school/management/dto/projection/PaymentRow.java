@@ -0,0 +1,24 @@
+// dto/projection/PaymentRow.java
+package com.school.management.dto.projection;
+
+import com.school.management.entity.enums.PaymentMode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Colonnes d'un paiement nécessaires à PaymentResponse.
+ */
+public record PaymentRow(
+        Long id,
+        String studentFirstName,
+        String studentLastName,
+        BigDecimal amount,
+        LocalDate paymentDate,
+        PaymentMode paymentMode,
+        String paymentType,
+        String academicYear,
+        String description,
+        String receiptNumber
+) {
+}
@@ -0,0 +1,14 @@
+// dto/projection/PurchaseTotal.java
+package com.school.management.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Total des achats d'une catégorie ou d'un fournisseur sur une période.
+ */
+public record PurchaseTotal(
+        String label,
+        BigDecimal total,
+        Long purchaseCount
+) {
+}
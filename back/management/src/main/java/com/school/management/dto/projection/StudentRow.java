@@ -0,0 +1,29 @@
+// dto/projection/StudentRow.java
+package com.school.management.dto.projection;
+
+import com.school.management.entity.enums.Gender;
+import com.school.management.entity.enums.Language;
+import com.school.management.entity.enums.Section;
+
+import java.time.LocalDate;
+
+/**
+ * Colonnes d'un élève nécessaires à StudentResponse, lues sans charger l'entité.
+ */
+public record StudentRow(
+        Long id,
+        String firstName,
+        String lastName,
+        LocalDate dateOfBirth,
+        Gender gender,
+        Section section,
+        Language language,
+        String academicYear,
+        String parentName,
+        String parentPhone,
+        String parentEmail,
+        String address,
+        String className,
+        LocalDate registrationDate
+) {
+}
@@ -0,0 +1,35 @@
+// dto/projection/UserPrincipal.java
+package com.school.management.dto.projection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.school.management.entity.enums.UserRole;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.time.LocalDateTime;
+
+/**
+ * Utilisateur authentifié tel que vu par les contrôles d'accès : rôle, état du compte
+ * et fiches enseignant / personnel liées (nulles si absentes). Mis en cache par
+ * PrincipalCache ; le nom (authentication.name) est l'id de l'utilisateur.
+ */
+public record UserPrincipal(
+        Long id,
+        String username,
+        UserRole role,
+        Boolean active,
+        Long teacherId,
+        Long staffId,
+        LocalDateTime passwordChangedAt
+) implements AuthenticatedPrincipal {
+
+    @Override
+    @JsonIgnore
+    public String getName() {
+        return String.valueOf(id);
+    }
+
+    @JsonIgnore
+    public boolean isTeacher() {
+        return role == UserRole.TEACHER;
+    }
+}
@@ -0,0 +1,22 @@
+// dto/request/GradeBatchCreateRequest.java
+package com.school.management.dto.request;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feuille de notes d'une évaluation : les champs communs s'appliquent à chaque
+ * ligne qui ne les renseigne pas elle-même.
+ */
+@Data
+public class GradeBatchCreateRequest {
+    private Long subjectId;
+    private String term;
+    private String academicYear;
+    private String examType;
+    private LocalDate gradeDate;
+    private List<GradeCreateRequest> grades = new ArrayList<>();
+}
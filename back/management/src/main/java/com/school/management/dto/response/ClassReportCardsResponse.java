@@ -0,0 +1,19 @@
+// dto/response/ClassReportCardsResponse.java
+package com.school.management.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ClassReportCardsResponse {
+    private Long classId;
+    private String semester;
+    private String academicYear;
+    private BigDecimal classAverage;
+    private BigDecimal highestAverage;
+    private BigDecimal lowestAverage;
+    private List<ReportCardResponse> reportCards = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+// dto/response/CursorPageResponse.java
+package com.school.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page obtenue par pagination par curseur : nextCursor est à renvoyer tel quel
+ * pour obtenir la page suivante. totalElements n'est renseigné que si le client
+ * l'a demandé (withTotal=true).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+}
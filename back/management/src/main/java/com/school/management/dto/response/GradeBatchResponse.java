@@ -0,0 +1,26 @@
+// dto/response/GradeBatchResponse.java
+package com.school.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class GradeBatchResponse {
+    private int submitted;
+    private int created;
+    private List<GradeResponse> grades = new ArrayList<>();
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private Long studentId;
+        private String message;
+    }
+}
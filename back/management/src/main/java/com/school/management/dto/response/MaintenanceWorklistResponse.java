@@ -0,0 +1,31 @@
+// dto/response/MaintenanceWorklistResponse.java
+package com.school.management.dto.response;
+
+import com.school.management.dto.projection.EquipmentMaintenanceRow;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Liste de maintenance du jour : équipements en retard (date dépassée) puis à traiter
+ * dans les lookaheadDays prochains jours, avec leur répartition par lieu et catégorie.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceWorklistResponse {
+    private LocalDate date;
+    private LocalDateTime generatedAt;
+    private int lookaheadDays;
+    private long overdueCount;
+    private long upcomingCount;
+    private Map<String, Long> countsByLocation;
+    private Map<String, Long> countsByCategory;
+    private List<EquipmentMaintenanceRow> overdue;
+    private List<EquipmentMaintenanceRow> upcoming;
+}
@@ -0,0 +1,21 @@
+// dto/response/ReportCardResponse.java
+package com.school.management.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ReportCardResponse {
+    private Long studentId;
+    private String studentName;
+    private String semester;
+    private String academicYear;
+    private List<SubjectAverageResponse> subjects = new ArrayList<>();
+    private Integer totalCoefficients;
+    private BigDecimal generalAverage;
+    private Integer rank;
+    private Integer classSize;
+}
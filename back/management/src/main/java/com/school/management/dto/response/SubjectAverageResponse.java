@@ -0,0 +1,15 @@
+// dto/response/SubjectAverageResponse.java
+package com.school.management.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SubjectAverageResponse {
+    private Long subjectId;
+    private String subjectName;
+    private Integer coefficient;
+    private Long gradeCount;
+    private BigDecimal average;
+}
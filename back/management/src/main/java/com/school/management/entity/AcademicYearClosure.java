@@ -0,0 +1,41 @@
+// entity/AcademicYearClosure.java
+package com.school.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clôture d'une année scolaire : ses notes, paiements, documents et incidents résolus
+ * ont été déplacés dans les tables d'archive.
+ */
+@Entity
+@Table(name = "academic_year_closures", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_academic_year_closure", columnNames = "academic_year")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AcademicYearClosure {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "academic_year_closures_seq")
+    @SequenceGenerator(name = "academic_year_closures_seq", sequenceName = "academic_year_closures_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String academicYear;
+
+    @Column(nullable = false)
+    private LocalDateTime closedAt = LocalDateTime.now();
+
+    private String closedBy;
+
+    // Nombre de lignes déplacées par table
+    private Integer gradesArchived;
+    private Integer paymentsArchived;
+    private Integer disciplinesArchived;
+    private Integer documentsArchived;
+}
@@ -2,12 +2,15 @@
 package com.school.management.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.school.management.config.ReferenceCacheConfig;
 import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import java.util.ArrayList;
@@ -15,12 +18,14 @@ import java.util.List;
 
 @Entity
 @Table(name = "classes")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Class {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "classes_seq")
+    @SequenceGenerator(name = "classes_seq", sequenceName = "classes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -51,6 +56,7 @@ public class Class {
     @JsonIgnore // Exclut les étudiants de la sérialisation
     private List<Student> students = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
     @ManyToMany
     @JoinTable(
             name = "class_subjects",
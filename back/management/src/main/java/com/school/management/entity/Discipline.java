@@ -16,7 +16,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class Discipline {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "disciplines_seq")
+    @SequenceGenerator(name = "disciplines_seq", sequenceName = "disciplines_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,48 @@
+// entity/DisciplineArchive.java
+package com.school.management.entity;
+
+import com.school.management.entity.enums.DisciplineType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * Incident résolu d'une année clôturée, copié depuis disciplines (même identifiant).
+ * L'année de clôture est ajoutée, la table d'origine n'en ayant pas.
+ */
+@Entity
+@Immutable
+@Table(name = "disciplines_archive")
+@Data
+@NoArgsConstructor
+public class DisciplineArchive {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Student student;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DisciplineType type;
+
+    @Column(nullable = false)
+    private LocalDate incidentDate;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String description;
+
+    @Column(columnDefinition = "TEXT")
+    private String action;
+
+    private Boolean resolved;
+    private LocalDate createdAt;
+    private String reportedBy;
+
+    @Column(nullable = false)
+    private String academicYear;
+}
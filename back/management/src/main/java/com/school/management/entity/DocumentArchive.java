@@ -0,0 +1,49 @@
+// entity/DocumentArchive.java
+package com.school.management.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Document d'une année clôturée, copié tel quel depuis documents (même identifiant).
+ * Son fichier reste dans le stockage : l'empreinte compte parmi les références du blob.
+ */
+@Entity
+@Immutable
+@Table(name = "documents_archive")
+@Data
+@NoArgsConstructor
+public class DocumentArchive {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String type;
+
+    private String filePath;
+    private String mimeType;
+    private Long fileSize;
+
+    @Column(length = 64)
+    private String contentHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnoreProperties({"grades", "payments", "disciplines", "hibernateLazyInitializer"})
+    private Student student;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private String createdBy;
+    private String academicYear;
+    private String term;
+}
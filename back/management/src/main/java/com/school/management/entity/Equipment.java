@@ -15,7 +15,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class Equipment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipment_seq")
+    @SequenceGenerator(name = "equipment_seq", sequenceName = "equipment_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
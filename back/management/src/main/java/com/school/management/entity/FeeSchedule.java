@@ -0,0 +1,49 @@
+// entity/FeeSchedule.java
+package com.school.management.entity;
+
+import com.school.management.entity.enums.Section;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Frais de scolarité annuels d'une section, éventuellement précisés par niveau.
+ * Un barème sans niveau s'applique à toute la section.
+ */
+@Entity
+@Table(name = "fee_schedules", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_fee_schedule", columnNames = {"section", "level", "academic_year"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fee_schedules_seq")
+    @SequenceGenerator(name = "fee_schedules_seq", sequenceName = "fee_schedules_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull(message = "La section est obligatoire")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Section section;
+
+    private String level; // null : toute la section
+
+    @NotBlank(message = "L'année scolaire est obligatoire")
+    @Column(nullable = false)
+    private String academicYear;
+
+    @NotNull(message = "Le montant est obligatoire")
+    @PositiveOrZero(message = "Le montant doit être positif")
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    private String description;
+}
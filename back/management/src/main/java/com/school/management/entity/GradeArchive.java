@@ -0,0 +1,48 @@
+// entity/GradeArchive.java
+package com.school.management.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Note d'une année clôturée, copiée telle quelle depuis grades (même identifiant).
+ * Sans clé étrangère : l'historique survit à la suppression d'un élève ou d'une matière.
+ */
+@Entity
+@Immutable
+@Table(name = "grades_archive")
+@Data
+@NoArgsConstructor
+public class GradeArchive {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subject_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Subject subject;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal value;
+
+    @Column(nullable = false)
+    private String semester;
+
+    @Column(nullable = false)
+    private String academicYear;
+
+    private String examType;
+
+    @Column(nullable = false)
+    private LocalDate gradeDate;
+
+    private String comments;
+}
@@ -0,0 +1,47 @@
+// entity/PaymentArchive.java
+package com.school.management.entity;
+
+import com.school.management.entity.enums.PaymentMode;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Paiement d'une année clôturée, copié tel quel depuis payments (même identifiant).
+ */
+@Entity
+@Immutable
+@Table(name = "payments_archive")
+@Data
+@NoArgsConstructor
+public class PaymentArchive {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Student student;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDate paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentMode paymentMode;
+
+    @Column(nullable = false)
+    private String paymentType;
+
+    @Column(nullable = false)
+    private String academicYear;
+
+    private String description;
+    private String receiptNumber;
+}
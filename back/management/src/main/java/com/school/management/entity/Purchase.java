@@ -16,7 +16,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class Purchase {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchases_seq")
+    @SequenceGenerator(name = "purchases_seq", sequenceName = "purchases_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,45 @@
+// entity/PurchaseDailyTotal.java
+package com.school.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cumul journalier des achats par catégorie et fournisseur (chaîne vide si non renseigné).
+ * Tenu à jour à chaque création, modification ou suppression d'achat ; les synthèses
+ * et graphiques de dépenses sont calculés sur ce cumul plutôt que sur les achats.
+ */
+@Entity
+@Table(name = "purchase_daily_totals",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_purchase_daily_total", columnNames = {"purchase_date", "category", "supplier"})
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseDailyTotal {
+    // Lignes écrites uniquement par les requêtes natives d'upsert de PurchaseDailyTotalRepository
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate purchaseDate;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private String supplier;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Integer purchaseCount;
+}
@@ -0,0 +1,52 @@
+// entity/StudentBalance.java
+package com.school.management.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Solde d'un élève pour une année scolaire : montant dû selon le barème, total
+ * payé et reste à payer. Tenu à jour à chaque paiement, recalculé chaque nuit.
+ */
+@Entity
+@Table(name = "student_balances",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_student_balance", columnNames = {"student_id", "academic_year"})
+        },
+        indexes = {
+                @Index(name = "idx_student_balances_outstanding", columnList = "academic_year, outstanding")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentBalance {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @Column(nullable = false)
+    private String academicYear;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amountDue = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal outstanding = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -1,24 +1,29 @@
 // entity/Subject.java
 package com.school.management.entity;
 
+import com.school.management.config.ReferenceCacheConfig;
 import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "subjects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Subject {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subjects_seq")
+    @SequenceGenerator(name = "subjects_seq", sequenceName = "subjects_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -45,10 +50,12 @@ public class Subject {
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
     @ManyToMany(mappedBy = "subjects")
     private List<Class> classes = new ArrayList<>();
 
     // Relation Many-to-Many pour les enseignants supplémentaires
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
     @ManyToMany
     @JoinTable(
             name = "subject_teachers",
@@ -1,12 +1,16 @@
 // entity/Teacher.java
 package com.school.management.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.school.management.config.ReferenceCacheConfig;
 import com.school.management.entity.enums.Gender;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -14,12 +18,14 @@ import java.util.List;
 
 @Entity
 @Table(name = "teachers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Teacher {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_seq")
+    @SequenceGenerator(name = "teachers_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -44,17 +50,22 @@ public class Teacher {
     private String taskDescription;
 
     // Matières où cet enseignant est le principal
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
     @OneToMany(mappedBy = "teacher", fetch = FetchType.LAZY)
     @JsonManagedReference // Gère la sérialisation vers Class
     private List<Subject> primarySubjects = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
     @OneToMany(mappedBy = "teacher", fetch = FetchType.LAZY)
     private List<Class> classes = new ArrayList<>();
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCacheConfig.ENTITY_REGION)
     @ManyToMany(mappedBy = "teachers")
     private List<Subject> subjects = new ArrayList<>();
 
-    @OneToOne
+    // Paresseux : une lecture depuis le cache ne doit pas recharger le compte utilisateur
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnore
     private User user;
 }
\ No newline at end of file
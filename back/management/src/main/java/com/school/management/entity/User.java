@@ -2,6 +2,7 @@
 // entity/User.java
 package com.school.management.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.school.management.entity.enums.UserRole;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -20,13 +21,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
     @NotBlank(message = "Le nom d'utilisateur est obligatoire")
     private String username;
 
+    // Reçu à la création, jamais renvoyé : les réponses ne contiennent pas l'empreinte BCrypt
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     @NotBlank(message = "Le mot de passe est obligatoire")
     private String password;
@@ -54,6 +58,9 @@ public class User {
 
     private LocalDateTime lastLogin;
 
+    // Les jetons émis avant cette date sont refusés
+    private LocalDateTime passwordChangedAt;
+
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
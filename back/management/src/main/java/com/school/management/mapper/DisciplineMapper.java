@@ -1,6 +1,7 @@
 // mapper/DisciplineMapper.java
 package com.school.management.mapper;
 
+import com.school.management.dto.projection.DisciplineRow;
 import com.school.management.dto.request.DisciplineCreateRequest;
 import com.school.management.dto.response.DisciplineResponse;
 import com.school.management.entity.Discipline;
@@ -32,4 +33,18 @@ public class DisciplineMapper {
         response.setReportedBy(discipline.getReportedBy());
         return response;
     }
-}
\ No newline at end of file
+
+    public DisciplineResponse toResponse(DisciplineRow row) {
+        DisciplineResponse response = new DisciplineResponse();
+        response.setId(row.id());
+        response.setStudentName(row.studentFirstName() + " " + row.studentLastName());
+        response.setType(row.type());
+        response.setIncidentDate(row.incidentDate());
+        response.setDescription(row.description());
+        response.setAction(row.action());
+        response.setResolved(row.resolved());
+        response.setCreatedAt(row.createdAt());
+        response.setReportedBy(row.reportedBy());
+        return response;
+    }
+}
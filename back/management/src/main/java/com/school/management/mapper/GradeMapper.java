@@ -1,6 +1,7 @@
 // mapper/GradeMapper.java
 package com.school.management.mapper;
 
+import com.school.management.dto.projection.GradeRow;
 import com.school.management.dto.request.GradeCreateRequest;
 import com.school.management.dto.response.GradeResponse;
 import com.school.management.entity.Grade;
@@ -36,19 +37,7 @@ public class GradeMapper {
         grade.setGradeDate(request.getGradeDate());
         grade.setComments(request.getComments());
 
-        // Récupération des entités liées via les repositories
-        if (request.getStudentId() != null) {
-            Student student = studentRepository.findById(request.getStudentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
-            grade.setStudent(student);
-        }
-
-        if (request.getSubjectId() != null) {
-            Subject subject = subjectRepository.findById(request.getSubjectId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Matière non trouvée"));
-            grade.setSubject(subject);
-        }
-
+        // L'élève et la matière sont résolus par le service appelant
         return grade;
     }
 
@@ -82,6 +71,24 @@ public class GradeMapper {
         return response;
     }
 
+    public GradeResponse toResponse(GradeRow row) {
+        GradeResponse response = new GradeResponse();
+        response.setId(row.id());
+        response.setStudentId(row.studentId());
+        response.setStudentName(row.studentFirstName() + " " + row.studentLastName());
+        response.setSubjectId(row.subjectId());
+        response.setSubjectName(row.subjectName());
+        if (row.value() != null) {
+            response.setScore(row.value().doubleValue());
+        }
+        response.setTerm(row.semester());
+        response.setAcademicYear(row.academicYear());
+        response.setExamType(row.examType());
+        response.setGradeDate(row.gradeDate());
+        response.setComments(row.comments());
+        return response;
+    }
+
     public void updateEntity(Grade grade, GradeCreateRequest request) {
         if (request.getScore() != null) {
             grade.setValue(BigDecimal.valueOf(request.getScore()));
@@ -1,6 +1,7 @@
 // mapper/PaymentMapper.java
 package com.school.management.mapper;
 
+import com.school.management.dto.projection.PaymentRow;
 import com.school.management.dto.request.PaymentCreateRequest;
 import com.school.management.dto.response.PaymentResponse;
 import com.school.management.entity.Payment;
@@ -34,4 +35,18 @@ public class PaymentMapper {
         response.setReceiptNumber(payment.getReceiptNumber());
         return response;
     }
-}
\ No newline at end of file
+
+    public PaymentResponse toResponse(PaymentRow row) {
+        PaymentResponse response = new PaymentResponse();
+        response.setId(row.id());
+        response.setStudentName(row.studentFirstName() + " " + row.studentLastName());
+        response.setAmount(row.amount());
+        response.setPaymentDate(row.paymentDate());
+        response.setPaymentMode(row.paymentMode());
+        response.setPaymentType(row.paymentType());
+        response.setAcademicYear(row.academicYear());
+        response.setDescription(row.description());
+        response.setReceiptNumber(row.receiptNumber());
+        return response;
+    }
+}
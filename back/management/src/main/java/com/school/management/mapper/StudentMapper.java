@@ -1,6 +1,7 @@
 // mapper/StudentMapper.java
 package com.school.management.mapper;
 
+import com.school.management.dto.projection.StudentRow;
 import com.school.management.dto.request.StudentCreateRequest;
 import com.school.management.dto.request.StudentUpdateRequest;
 import com.school.management.dto.response.StudentResponse;
@@ -58,4 +59,23 @@ public class StudentMapper {
         response.setRegistrationDate(student.getRegistrationDate());
         return response;
     }
-}
\ No newline at end of file
+
+    public StudentResponse toResponse(StudentRow row) {
+        StudentResponse response = new StudentResponse();
+        response.setId(row.id());
+        response.setFirstName(row.firstName());
+        response.setLastName(row.lastName());
+        response.setDateOfBirth(row.dateOfBirth());
+        response.setGender(row.gender());
+        response.setSection(row.section());
+        response.setLanguage(row.language());
+        response.setAcademicYear(row.academicYear());
+        response.setParentName(row.parentName());
+        response.setParentPhone(row.parentPhone());
+        response.setParentEmail(row.parentEmail());
+        response.setAddress(row.address());
+        response.setClassName(row.className());
+        response.setRegistrationDate(row.registrationDate());
+        return response;
+    }
+}
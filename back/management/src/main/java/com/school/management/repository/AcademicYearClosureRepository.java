@@ -0,0 +1,26 @@
+// repository/AcademicYearClosureRepository.java
+package com.school.management.repository;
+
+import com.school.management.entity.AcademicYearClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AcademicYearClosureRepository extends JpaRepository<AcademicYearClosure, Long> {
+
+    boolean existsByAcademicYear(String academicYear);
+
+    List<AcademicYearClosure> findAllByOrderByAcademicYearDesc();
+
+    // Années non clôturées qui ont encore des notes, paiements ou documents dans les tables actives
+    @Query(value = "SELECT y.academic_year FROM (" +
+            "SELECT academic_year FROM grades UNION SELECT academic_year FROM payments " +
+            "UNION SELECT academic_year FROM documents) y " +
+            "WHERE y.academic_year IS NOT NULL " +
+            "AND y.academic_year NOT IN (SELECT yc.academic_year FROM academic_year_closures yc)",
+            nativeQuery = true)
+    List<String> findOpenYears();
+}
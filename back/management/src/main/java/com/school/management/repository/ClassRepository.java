@@ -1,11 +1,16 @@
 // repository/ClassRepository.java
 package com.school.management.repository;
 
+import com.school.management.config.ReferenceCacheConfig;
 import com.school.management.entity.Class;
 import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,12 +19,36 @@ import java.util.List;
 @Repository
 public interface ClassRepository extends JpaRepository<Class, Long> {
 
+    // Recherches de référence : résultats conservés dans le cache de requêtes (invalidé à chaque écriture)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
+    @Override
+    List<Class> findAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Class> findBySection(Section section);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Class> findByLanguage(Language language);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Class> findByAcademicYear(String academicYear);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Class> findBySectionAndLanguage(Section section, Language language);
 
     List<Class> findByTeacherId(Long teacherId);
@@ -33,6 +62,10 @@ public interface ClassRepository extends JpaRepository<Class, Long> {
     );
 
     // Méthodes supplémentaires basées sur l'entité
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Class> findByLevel(String level);
 
     List<Class> findByName(String name);
@@ -44,4 +77,16 @@ public interface ClassRepository extends JpaRepository<Class, Long> {
 
     @Query("SELECT c FROM Class c WHERE SIZE(c.students) = :count")
     List<Class> findClassesWithStudentCount(@Param("count") long count);
+
+    // Pagination par clé (nom, id) : ni OFFSET ni COUNT
+    List<Class> findAllByOrderByNameAscIdAsc(Pageable pageable);
+
+    @Query("SELECT c FROM Class c WHERE c.name > :name OR (c.name = :name AND c.id > :id) " +
+            "ORDER BY c.name ASC, c.id ASC")
+    List<Class> findPageAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    // Comptage groupé utilisé pour la réconciliation des compteurs du tableau de bord
+    @Query("SELECT c.section, c.language, c.academicYear, COUNT(c) FROM Class c " +
+            "GROUP BY c.section, c.language, c.academicYear")
+    List<Object[]> countGroupedBySectionLanguageAndYear();
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+// repository/DisciplineArchiveRepository.java
+package com.school.management.repository;
+
+import com.school.management.dto.projection.DisciplineRow;
+import com.school.management.entity.DisciplineArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DisciplineArchiveRepository extends JpaRepository<DisciplineArchive, Long> {
+
+    @Query("SELECT new com.school.management.dto.projection.DisciplineRow(" +
+            "d.id, st.firstName, st.lastName, d.type, d.incidentDate, d.description, d.action, d.resolved, " +
+            "d.createdAt, d.reportedBy) " +
+            "FROM DisciplineArchive d LEFT JOIN d.student st " +
+            "WHERE d.student.id = :studentId")
+    List<DisciplineRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * Copie les incidents résolus survenus pendant l'année, de la rentrée (incluse) à la
+     * rentrée suivante (exclue) : disciplines n'a pas de colonne d'année. Les incidents
+     * encore ouverts restent dans la table active.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO disciplines_archive " +
+            "(id, student_id, type, incident_date, description, action, resolved, created_at, reported_by, " +
+            "academic_year) " +
+            "SELECT id, student_id, type, incident_date, description, action, resolved, created_at, reported_by, " +
+            ":year FROM disciplines WHERE resolved = true " +
+            "AND incident_date >= :yearStart AND incident_date < :yearEnd",
+            nativeQuery = true)
+    int copyResolvedDuring(@Param("year") String academicYear,
+                           @Param("yearStart") LocalDate yearStart,
+                           @Param("yearEnd") LocalDate yearEnd);
+
+    @Modifying
+    @Query(value = "DELETE FROM disciplines WHERE resolved = true " +
+            "AND incident_date >= :yearStart AND incident_date < :yearEnd " +
+            "AND id IN (SELECT a.id FROM disciplines_archive a WHERE a.academic_year = :year)",
+            nativeQuery = true)
+    int deleteArchivedFromActive(@Param("year") String academicYear,
+                                 @Param("yearStart") LocalDate yearStart,
+                                 @Param("yearEnd") LocalDate yearEnd);
+}
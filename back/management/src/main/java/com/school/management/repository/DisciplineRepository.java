@@ -1,10 +1,12 @@
 // repository/DisciplineRepository.java
 package com.school.management.repository;
 
+import com.school.management.dto.projection.DisciplineRow;
 import com.school.management.entity.Discipline;
 import com.school.management.entity.enums.DisciplineType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,16 +18,22 @@ import java.util.List;
 @Repository
 public interface DisciplineRepository extends JpaRepository<Discipline, Long> {
 
+    @EntityGraph(attributePaths = "student")
     List<Discipline> findByStudentId(Long studentId);
 
+    @EntityGraph(attributePaths = "student")
     List<Discipline> findByType(DisciplineType type);
 
+    @EntityGraph(attributePaths = "student")
     List<Discipline> findByResolved(Boolean resolved);
 
+    @EntityGraph(attributePaths = "student")
     List<Discipline> findByIncidentDateBetween(LocalDate startDate, LocalDate endDate);
 
+    @EntityGraph(attributePaths = "student")
     Page<Discipline> findByIncidentDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
+    @EntityGraph(attributePaths = "student")
     List<Discipline> findByStudentIdAndResolved(Long studentId, Boolean resolved);
 
     long countByStudentId(Long studentId);
@@ -33,10 +41,13 @@ public interface DisciplineRepository extends JpaRepository<Discipline, Long> {
     long countByStudentIdAndResolved(Long studentId, Boolean resolved);
 
     // Méthodes supplémentaires utiles
+    @EntityGraph(attributePaths = "student")
     List<Discipline> findByReportedBy(String reportedBy);
 
+    @EntityGraph(attributePaths = "student")
     List<Discipline> findByCreatedAtBetween(LocalDate startDate, LocalDate endDate);
 
+    @EntityGraph(attributePaths = "student")
     @Query("SELECT d FROM Discipline d WHERE d.student.id = :studentId AND d.incidentDate BETWEEN :startDate AND :endDate")
     List<Discipline> findByStudentIdAndIncidentDateBetween(
             @Param("studentId") Long studentId,
@@ -47,12 +58,66 @@ public interface DisciplineRepository extends JpaRepository<Discipline, Long> {
     @Query("SELECT COUNT(d) FROM Discipline d WHERE d.resolved = false")
     long countUnresolvedDisciplines();
 
+    @EntityGraph(attributePaths = "student")
     @Query("SELECT d FROM Discipline d WHERE d.resolved = false ORDER BY d.incidentDate DESC")
     List<Discipline> findUnresolvedDisciplinesOrderByIncidentDateDesc();
 
+    @EntityGraph(attributePaths = "student")
     @Query("SELECT d FROM Discipline d WHERE d.type = :type AND d.resolved = :resolved")
     List<Discipline> findByTypeAndResolved(@Param("type") DisciplineType type, @Param("resolved") Boolean resolved);
 
+    @EntityGraph(attributePaths = "student")
     @Query("SELECT d FROM Discipline d WHERE d.incidentDate >= :date ORDER BY d.incidentDate DESC")
     List<Discipline> findRecentDisciplines(@Param("date") LocalDate date);
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(attributePaths = "student")
+    List<Discipline> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "student")
+    Page<Discipline> findAll(Pageable pageable);
+
+    // Projections des listes en lecture seule : colonnes de DisciplineResponse uniquement
+    String DISCIPLINE_ROW = "SELECT new com.school.management.dto.projection.DisciplineRow(" +
+            "d.id, st.firstName, st.lastName, d.type, d.incidentDate, d.description, d.action, d.resolved, " +
+            "d.createdAt, d.reportedBy) " +
+            "FROM Discipline d JOIN d.student st ";
+
+    @Query(DISCIPLINE_ROW)
+    List<DisciplineRow> findAllRows();
+
+    @Query(value = DISCIPLINE_ROW, countQuery = "SELECT COUNT(d) FROM Discipline d")
+    Page<DisciplineRow> findAllRows(Pageable pageable);
+
+    @Query(DISCIPLINE_ROW + "WHERE st.id = :studentId")
+    List<DisciplineRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(DISCIPLINE_ROW + "WHERE st.id = :studentId AND d.resolved = :resolved")
+    List<DisciplineRow> findRowsByStudentIdAndResolved(@Param("studentId") Long studentId,
+                                                       @Param("resolved") Boolean resolved);
+
+    @Query(DISCIPLINE_ROW + "WHERE d.type = :type")
+    List<DisciplineRow> findRowsByType(@Param("type") DisciplineType type);
+
+    @Query(DISCIPLINE_ROW + "WHERE d.resolved = :resolved")
+    List<DisciplineRow> findRowsByResolved(@Param("resolved") Boolean resolved);
+
+    @Query(DISCIPLINE_ROW + "WHERE d.incidentDate BETWEEN :startDate AND :endDate")
+    List<DisciplineRow> findRowsByIncidentDateBetween(@Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+
+    @Query(value = DISCIPLINE_ROW + "WHERE d.incidentDate BETWEEN :startDate AND :endDate",
+            countQuery = "SELECT COUNT(d) FROM Discipline d WHERE d.incidentDate BETWEEN :startDate AND :endDate")
+    Page<DisciplineRow> findRowsByIncidentDateBetween(@Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate,
+                                                      Pageable pageable);
+
+    // Pagination par clé (date d'incident, id), plus récents d'abord
+    @Query(DISCIPLINE_ROW + "ORDER BY d.incidentDate DESC, d.id DESC")
+    List<DisciplineRow> findFirstPage(Pageable pageable);
+
+    @Query(DISCIPLINE_ROW + "WHERE d.incidentDate < :incidentDate OR (d.incidentDate = :incidentDate AND d.id < :id) " +
+            "ORDER BY d.incidentDate DESC, d.id DESC")
+    List<DisciplineRow> findPageAfter(@Param("incidentDate") LocalDate incidentDate, @Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,40 @@
+// repository/DocumentArchiveRepository.java
+package com.school.management.repository;
+
+import com.school.management.entity.DocumentArchive;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DocumentArchiveRepository extends JpaRepository<DocumentArchive, Long> {
+
+    @EntityGraph(attributePaths = "student")
+    List<DocumentArchive> findByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = "student")
+    List<DocumentArchive> findByAcademicYear(String academicYear);
+
+    // Références au fichier partagé encore détenues par les archives
+    long countByContentHash(String contentHash);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO documents_archive " +
+            "(id, name, type, file_path, mime_type, file_size, content_hash, student_id, created_at, created_by, " +
+            "academic_year, term) " +
+            "SELECT id, name, type, file_path, mime_type, file_size, content_hash, student_id, created_at, " +
+            "created_by, academic_year, term FROM documents WHERE academic_year = :year",
+            nativeQuery = true)
+    int copyYear(@Param("year") String academicYear);
+
+    @Modifying
+    @Query(value = "DELETE FROM documents WHERE academic_year = :year " +
+            "AND id IN (SELECT a.id FROM documents_archive a WHERE a.academic_year = :year)",
+            nativeQuery = true)
+    int deleteArchivedFromActive(@Param("year") String academicYear);
+}
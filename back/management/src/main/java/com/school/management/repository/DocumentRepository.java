@@ -1,17 +1,65 @@
 // repository/DocumentRepository.java
 package com.school.management.repository;
 
+import com.school.management.dto.projection.DocumentExportRow;
 import com.school.management.entity.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+    @EntityGraph(attributePaths = "student")
     List<Document> findByType(String type);
+
+    @EntityGraph(attributePaths = "student")
     List<Document> findByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = "student")
     List<Document> findByAcademicYear(String academicYear);
+
+    @EntityGraph(attributePaths = "student")
     List<Document> findByStudentIdAndType(Long studentId, String type);
+
+    @EntityGraph(attributePaths = "student")
     List<Document> findByCreatedBy(String createdBy);
-}
\ No newline at end of file
+
+    // Nombre de documents pointant sur un même fichier du stockage
+    long countByContentHash(String contentHash);
+
+    // Pagination par clé (date de création, id), plus récents d'abord
+    @EntityGraph(attributePaths = "student")
+    List<Document> findAllByOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    @EntityGraph(attributePaths = "student")
+    @Query("SELECT d FROM Document d WHERE d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id) " +
+            "ORDER BY d.createdAt DESC, d.id DESC")
+    List<Document> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Export ZIP : lecture par lots de la projection, reprise après le dernier id lu
+    @Query("SELECT new com.school.management.dto.projection.DocumentExportRow(" +
+            "d.id, d.name, d.type, d.contentHash, d.filePath, d.mimeType, s.firstName, s.lastName) " +
+            "FROM Document d LEFT JOIN d.student s " +
+            "WHERE d.id > :afterId " +
+            "AND (:classId IS NULL OR s.studentClass.id = :classId) " +
+            "AND (:academicYear IS NULL OR d.academicYear = :academicYear) " +
+            "AND (:term IS NULL OR d.term = :term) " +
+            "AND (:type IS NULL OR d.type = :type) " +
+            "ORDER BY d.id ASC")
+    List<DocumentExportRow> findExportPage(@Param("afterId") Long afterId,
+                                           @Param("classId") Long classId,
+                                           @Param("academicYear") String academicYear,
+                                           @Param("term") String term,
+                                           @Param("type") String type,
+                                           Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "student")
+    List<Document> findAll();
+}
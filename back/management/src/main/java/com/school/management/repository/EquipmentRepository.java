@@ -1,8 +1,13 @@
 // repository/EquipmentRepository.java - Version corrigée
 package com.school.management.repository;
 
+import com.school.management.dto.projection.EquipmentMaintenanceRow;
 import com.school.management.entity.Equipment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -17,5 +22,28 @@ public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
     List<Equipment> findByStatus(String status);
     List<Equipment> findByLocation(String location);
     List<Equipment> findByAssignedTo(String assignedTo);
-    List<Equipment> findByMaintenanceDateBefore(LocalDate date); // AJOUTÉ
-}
\ No newline at end of file
+
+    // Maintenance et garantie : plages sur les dates indexées, plus anciennes échéances d'abord
+    List<Equipment> findByMaintenanceDateBeforeOrderByMaintenanceDateAscIdAsc(LocalDate date);
+
+    Page<Equipment> findByMaintenanceDateBeforeOrderByMaintenanceDateAscIdAsc(LocalDate date, Pageable pageable);
+
+    Page<Equipment> findByMaintenanceDateBetweenOrderByMaintenanceDateAscIdAsc(LocalDate from, LocalDate to,
+                                                                              Pageable pageable);
+
+    List<Equipment> findByWarrantyExpiryDateAfterOrderByWarrantyExpiryDateAscIdAsc(LocalDate date);
+
+    Page<Equipment> findByWarrantyExpiryDateBetweenOrderByWarrantyExpiryDateAscIdAsc(LocalDate from, LocalDate to,
+                                                                                    Pageable pageable);
+
+    // Liste de maintenance : échéances jusqu'à la date donnée, sans charger les entités
+    @Query("SELECT new com.school.management.dto.projection.EquipmentMaintenanceRow(" +
+            "e.id, e.name, e.serialNumber, e.category, e.location, e.assignedTo, e.status, e.maintenanceDate) " +
+            "FROM Equipment e WHERE e.maintenanceDate <= :until ORDER BY e.maintenanceDate ASC, e.id ASC")
+    List<EquipmentMaintenanceRow> findMaintenanceRowsUntil(@Param("until") LocalDate until);
+
+    // Pagination par clé sur l'id
+    List<Equipment> findAllByOrderByIdAsc(Pageable pageable);
+
+    List<Equipment> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+// repository/FeeScheduleRepository.java
+package com.school.management.repository;
+
+import com.school.management.entity.FeeSchedule;
+import com.school.management.entity.enums.Section;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FeeScheduleRepository extends JpaRepository<FeeSchedule, Long> {
+    List<FeeSchedule> findByAcademicYearOrderBySectionAscLevelAsc(String academicYear);
+    boolean existsBySectionAndLevelAndAcademicYear(Section section, String level, String academicYear);
+    boolean existsBySectionAndLevelAndAcademicYearAndIdNot(Section section, String level, String academicYear, Long id);
+}
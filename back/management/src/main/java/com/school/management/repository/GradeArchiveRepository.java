@@ -0,0 +1,38 @@
+// repository/GradeArchiveRepository.java
+package com.school.management.repository;
+
+import com.school.management.dto.projection.GradeRow;
+import com.school.management.entity.GradeArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GradeArchiveRepository extends JpaRepository<GradeArchive, Long> {
+
+    // Élève ou matière supprimés depuis la clôture : noms à null
+    @Query("SELECT new com.school.management.dto.projection.GradeRow(" +
+            "g.id, g.student.id, st.firstName, st.lastName, g.subject.id, sub.name, g.value, g.semester, " +
+            "g.academicYear, g.examType, g.gradeDate, g.comments) " +
+            "FROM GradeArchive g LEFT JOIN g.student st LEFT JOIN g.subject sub " +
+            "WHERE g.student.id = :studentId")
+    List<GradeRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO grades_archive " +
+            "(id, student_id, subject_id, value, semester, academic_year, exam_type, grade_date, comments) " +
+            "SELECT id, student_id, subject_id, value, semester, academic_year, exam_type, grade_date, comments " +
+            "FROM grades WHERE academic_year = :year",
+            nativeQuery = true)
+    int copyYear(@Param("year") String academicYear);
+
+    @Modifying
+    @Query(value = "DELETE FROM grades WHERE academic_year = :year " +
+            "AND id IN (SELECT a.id FROM grades_archive a WHERE a.academic_year = :year)",
+            nativeQuery = true)
+    int deleteArchivedFromActive(@Param("year") String academicYear);
+}
@@ -1,29 +1,104 @@
 package com.school.management.repository;
 
+import com.school.management.dto.projection.GradeAggregate;
+import com.school.management.dto.projection.GradeRow;
 import com.school.management.entity.Grade;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
+    @EntityGraph(attributePaths = {"student", "subject"})
     List<Grade> findByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = {"student", "subject"})
     List<Grade> findBySubjectId(Long subjectId);
+
+    @EntityGraph(attributePaths = {"student", "subject"})
     List<Grade> findByStudentIdAndSubjectId(Long studentId, Long subjectId);
+
+    @EntityGraph(attributePaths = {"student", "subject"})
     List<Grade> findByStudentIdAndSemester(Long studentId, String semester);
+
+    @EntityGraph(attributePaths = {"student", "subject"})
     List<Grade> findBySubjectIdAndSemester(Long subjectId, String semester);
+
+    @EntityGraph(attributePaths = {"student", "subject"})
     List<Grade> findByStudentIdAndAcademicYear(Long studentId, String academicYear);
 
+    @EntityGraph(attributePaths = {"student", "subject"})
     @Query("SELECT g FROM Grade g WHERE g.student.id = :studentId AND g.semester = :semester AND g.academicYear = :year")
     List<Grade> findStudentGradesBySemesterAndYear(@Param("studentId") Long studentId,
                                                    @Param("semester") String semester,
                                                    @Param("year") String academicYear);
 
+    @EntityGraph(attributePaths = {"student", "subject"})
     @Query("SELECT g FROM Grade g WHERE g.student.id = :studentId AND g.subject.id = :subjectId AND g.semester = :semester")
     List<Grade> findByStudentIdAndSubjectIdAndSemester(@Param("studentId") Long studentId,
                                                        @Param("subjectId") Long subjectId,
                                                        @Param("semester") String semester);
-}
\ No newline at end of file
+
+    // Agrégats (somme, nombre) par élève et par matière pour toute une classe, en une seule requête
+    @Query("SELECT new com.school.management.dto.projection.GradeAggregate(" +
+            "s.id, s.firstName, s.lastName, sub.id, sub.name, sub.coefficient, SUM(g.value), COUNT(g)) " +
+            "FROM Student s " +
+            "LEFT JOIN s.grades g ON g.semester = :semester AND g.academicYear = :year " +
+            "LEFT JOIN g.subject sub " +
+            "WHERE s.studentClass.id = :classId " +
+            "GROUP BY s.id, s.firstName, s.lastName, sub.id, sub.name, sub.coefficient")
+    List<GradeAggregate> aggregateByClass(@Param("classId") Long classId,
+                                          @Param("semester") String semester,
+                                          @Param("year") String academicYear);
+
+    @Query("SELECT new com.school.management.dto.projection.GradeAggregate(" +
+            "s.id, s.firstName, s.lastName, sub.id, sub.name, sub.coefficient, SUM(g.value), COUNT(g)) " +
+            "FROM Student s " +
+            "LEFT JOIN s.grades g ON g.semester = :semester AND g.academicYear = :year " +
+            "LEFT JOIN g.subject sub " +
+            "WHERE s.id = :studentId " +
+            "GROUP BY s.id, s.firstName, s.lastName, sub.id, sub.name, sub.coefficient")
+    List<GradeAggregate> aggregateByStudent(@Param("studentId") Long studentId,
+                                            @Param("semester") String semester,
+                                            @Param("year") String academicYear);
+
+    // Projections des listes en lecture seule : colonnes de GradeResponse, élève et matière joints
+    String GRADE_ROW = "SELECT new com.school.management.dto.projection.GradeRow(" +
+            "g.id, st.id, st.firstName, st.lastName, sub.id, sub.name, g.value, g.semester, g.academicYear, " +
+            "g.examType, g.gradeDate, g.comments) " +
+            "FROM Grade g JOIN g.student st JOIN g.subject sub ";
+
+    // Pagination par clé (date, id), notes les plus récentes d'abord : ni OFFSET ni COUNT
+    @Query(GRADE_ROW + "ORDER BY g.gradeDate DESC, g.id DESC")
+    List<GradeRow> findFirstPage(Pageable pageable);
+
+    @Query(GRADE_ROW + "WHERE g.gradeDate < :gradeDate OR (g.gradeDate = :gradeDate AND g.id < :id) " +
+            "ORDER BY g.gradeDate DESC, g.id DESC")
+    List<GradeRow> findPageAfter(@Param("gradeDate") LocalDate gradeDate, @Param("id") Long id, Pageable pageable);
+
+    @Query(GRADE_ROW + "WHERE st.id = :studentId")
+    List<GradeRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    @Query(GRADE_ROW + "WHERE sub.id = :subjectId")
+    List<GradeRow> findRowsBySubjectId(@Param("subjectId") Long subjectId);
+
+    @Query(GRADE_ROW + "WHERE st.id = :studentId AND sub.id = :subjectId")
+    List<GradeRow> findRowsByStudentIdAndSubjectId(@Param("studentId") Long studentId,
+                                                   @Param("subjectId") Long subjectId);
+
+    // Valeurs seules pour le calcul des moyennes
+    @Query("SELECT g.value FROM Grade g WHERE g.student.id = :studentId AND g.semester = :semester")
+    List<BigDecimal> findValuesByStudentIdAndSemester(@Param("studentId") Long studentId,
+                                                      @Param("semester") String semester);
+
+    @Query("SELECT g.value FROM Grade g WHERE g.subject.id = :subjectId AND g.semester = :semester")
+    List<BigDecimal> findValuesBySubjectIdAndSemester(@Param("subjectId") Long subjectId,
+                                                      @Param("semester") String semester);
+}
@@ -0,0 +1,38 @@
+// repository/PaymentArchiveRepository.java
+package com.school.management.repository;
+
+import com.school.management.dto.projection.PaymentRow;
+import com.school.management.entity.PaymentArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentArchiveRepository extends JpaRepository<PaymentArchive, Long> {
+
+    @Query("SELECT new com.school.management.dto.projection.PaymentRow(" +
+            "p.id, st.firstName, st.lastName, p.amount, p.paymentDate, p.paymentMode, p.paymentType, " +
+            "p.academicYear, p.description, p.receiptNumber) " +
+            "FROM PaymentArchive p LEFT JOIN p.student st " +
+            "WHERE p.student.id = :studentId")
+    List<PaymentRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO payments_archive " +
+            "(id, student_id, amount, payment_date, payment_mode, payment_type, academic_year, description, " +
+            "receipt_number) " +
+            "SELECT id, student_id, amount, payment_date, payment_mode, payment_type, academic_year, description, " +
+            "receipt_number FROM payments WHERE academic_year = :year",
+            nativeQuery = true)
+    int copyYear(@Param("year") String academicYear);
+
+    @Modifying
+    @Query(value = "DELETE FROM payments WHERE academic_year = :year " +
+            "AND id IN (SELECT a.id FROM payments_archive a WHERE a.academic_year = :year)",
+            nativeQuery = true)
+    int deleteArchivedFromActive(@Param("year") String academicYear);
+}
@@ -1,8 +1,11 @@
 // repository/PaymentRepository.java
 package com.school.management.repository;
 
+import com.school.management.dto.projection.PaymentRow;
 import com.school.management.entity.Payment;
 import com.school.management.entity.enums.PaymentMode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,10 +17,19 @@ import java.util.List;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    @EntityGraph(attributePaths = "student")
     List<Payment> findByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = "student")
     List<Payment> findByAcademicYear(String academicYear);
+
+    @EntityGraph(attributePaths = "student")
     List<Payment> findByPaymentType(String paymentType);
+
+    @EntityGraph(attributePaths = "student")
     List<Payment> findByPaymentMode(PaymentMode paymentMode);
+
+    @EntityGraph(attributePaths = "student")
     List<Payment> findByPaymentDateBetween(LocalDate startDate, LocalDate endDate);
 
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.academicYear = :year")
@@ -25,4 +37,28 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.student.id = :studentId AND p.academicYear = :year")
     BigDecimal getTotalPaymentsByStudentAndYear(@Param("studentId") Long studentId, @Param("year") String academicYear);
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(attributePaths = "student")
+    List<Payment> findAll();
+
+    // Projections des listes en lecture seule : colonnes de PaymentResponse uniquement
+    String PAYMENT_ROW = "SELECT new com.school.management.dto.projection.PaymentRow(" +
+            "p.id, st.firstName, st.lastName, p.amount, p.paymentDate, p.paymentMode, p.paymentType, " +
+            "p.academicYear, p.description, p.receiptNumber) " +
+            "FROM Payment p JOIN p.student st ";
+
+    @Query(PAYMENT_ROW)
+    List<PaymentRow> findAllRows();
+
+    @Query(PAYMENT_ROW + "WHERE st.id = :studentId")
+    List<PaymentRow> findRowsByStudentId(@Param("studentId") Long studentId);
+
+    // Pagination par clé (date de paiement, id), plus récents d'abord
+    @Query(PAYMENT_ROW + "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentRow> findFirstPage(Pageable pageable);
+
+    @Query(PAYMENT_ROW + "WHERE p.paymentDate < :paymentDate OR (p.paymentDate = :paymentDate AND p.id < :id) " +
+            "ORDER BY p.paymentDate DESC, p.id DESC")
+    List<PaymentRow> findPageAfter(@Param("paymentDate") LocalDate paymentDate, @Param("id") Long id, Pageable pageable);
+}
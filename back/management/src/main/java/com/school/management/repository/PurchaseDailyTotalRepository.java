@@ -0,0 +1,45 @@
+// repository/PurchaseDailyTotalRepository.java
+package com.school.management.repository;
+
+import com.school.management.entity.PurchaseDailyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface PurchaseDailyTotalRepository extends JpaRepository<PurchaseDailyTotal, Long> {
+
+    // Ajout (ou retrait, montant et nombre négatifs) d'achats au cumul du jour
+    @Modifying
+    @Query(value = "INSERT INTO purchase_daily_totals (purchase_date, category, supplier, total_amount, purchase_count) " +
+            "VALUES (:purchaseDate, :category, :supplier, :amount, :count) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+            "purchase_count = purchase_count + VALUES(purchase_count)",
+            nativeQuery = true)
+    int add(@Param("purchaseDate") LocalDate purchaseDate,
+            @Param("category") String category,
+            @Param("supplier") String supplier,
+            @Param("amount") BigDecimal amount,
+            @Param("count") int count);
+
+    @Modifying
+    @Query("DELETE FROM PurchaseDailyTotal d WHERE d.purchaseCount <= 0")
+    int deleteEmpty();
+
+    @Modifying
+    @Query("DELETE FROM PurchaseDailyTotal d")
+    int deleteAllTotals();
+
+    // Recalcul complet à partir de la table des achats (après deleteAllTotals)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO purchase_daily_totals (purchase_date, category, supplier, total_amount, purchase_count) " +
+            "SELECT purchase_date, COALESCE(category, ''), COALESCE(supplier, ''), SUM(total_amount), COUNT(*) " +
+            "FROM purchases GROUP BY purchase_date, COALESCE(category, ''), COALESCE(supplier, '')",
+            nativeQuery = true)
+    int rebuild();
+}
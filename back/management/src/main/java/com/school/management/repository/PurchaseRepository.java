@@ -1,6 +1,8 @@
 // repository/PurchaseRepository.java - Version corrigée
 package com.school.management.repository;
 
+import com.school.management.dto.projection.MonthlyPurchaseTotal;
+import com.school.management.dto.projection.PurchaseTotal;
 import com.school.management.entity.Purchase;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -51,4 +53,42 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
     // Recherche par numéro de facture
     Purchase findByInvoiceNumber(String invoiceNumber);
     boolean existsByInvoiceNumber(String invoiceNumber);
-}
\ No newline at end of file
+
+    // Pagination par clé (date d'achat, id), plus récents d'abord
+    List<Purchase> findAllByOrderByPurchaseDateDescIdDesc(Pageable pageable);
+
+    @Query("SELECT p FROM Purchase p WHERE p.purchaseDate < :purchaseDate OR (p.purchaseDate = :purchaseDate AND p.id < :id) " +
+            "ORDER BY p.purchaseDate DESC, p.id DESC")
+    List<Purchase> findPageAfter(@Param("purchaseDate") LocalDate purchaseDate, @Param("id") Long id, Pageable pageable);
+
+    // Synthèses calculées sur le cumul journalier (PurchaseDailyTotal), pas sur les achats
+    @Query("SELECT new com.school.management.dto.projection.PurchaseTotal(d.category, SUM(d.totalAmount), SUM(d.purchaseCount)) " +
+            "FROM PurchaseDailyTotal d WHERE d.purchaseDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY d.category ORDER BY SUM(d.totalAmount) DESC")
+    List<PurchaseTotal> sumByCategory(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.school.management.dto.projection.PurchaseTotal(d.supplier, SUM(d.totalAmount), SUM(d.purchaseCount)) " +
+            "FROM PurchaseDailyTotal d WHERE d.purchaseDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY d.supplier ORDER BY SUM(d.totalAmount) DESC")
+    List<PurchaseTotal> sumBySupplier(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.school.management.dto.projection.MonthlyPurchaseTotal(" +
+            "EXTRACT(YEAR FROM d.purchaseDate), EXTRACT(MONTH FROM d.purchaseDate), CAST(NULL AS String), " +
+            "SUM(d.totalAmount), SUM(d.purchaseCount)) " +
+            "FROM PurchaseDailyTotal d WHERE d.purchaseDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY EXTRACT(YEAR FROM d.purchaseDate), EXTRACT(MONTH FROM d.purchaseDate) " +
+            "ORDER BY EXTRACT(YEAR FROM d.purchaseDate), EXTRACT(MONTH FROM d.purchaseDate)")
+    List<MonthlyPurchaseTotal> sumByMonth(@Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.school.management.dto.projection.MonthlyPurchaseTotal(" +
+            "EXTRACT(YEAR FROM d.purchaseDate), EXTRACT(MONTH FROM d.purchaseDate), d.category, " +
+            "SUM(d.totalAmount), SUM(d.purchaseCount)) " +
+            "FROM PurchaseDailyTotal d WHERE d.purchaseDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY EXTRACT(YEAR FROM d.purchaseDate), EXTRACT(MONTH FROM d.purchaseDate), d.category " +
+            "ORDER BY EXTRACT(YEAR FROM d.purchaseDate), EXTRACT(MONTH FROM d.purchaseDate), d.category")
+    List<MonthlyPurchaseTotal> sumByCategoryAndMonth(@Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+}
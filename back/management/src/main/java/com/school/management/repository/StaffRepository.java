@@ -6,6 +6,8 @@ import com.school.management.entity.enums.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,11 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     // Méthode pour la recherche avec pagination
     Page<Staff> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
             String firstName, String lastName, Pageable pageable);
-}
\ No newline at end of file
+
+    // Pagination par clé (nom, id) : ni OFFSET ni COUNT
+    List<Staff> findAllByOrderByLastNameAscIdAsc(Pageable pageable);
+
+    @Query("SELECT s FROM Staff s WHERE s.lastName > :lastName OR (s.lastName = :lastName AND s.id > :id) " +
+            "ORDER BY s.lastName ASC, s.id ASC")
+    List<Staff> findPageAfter(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+}
@@ -0,0 +1,124 @@
+// repository/StudentBalanceRepository.java
+package com.school.management.repository;
+
+import com.school.management.dto.projection.OutstandingBalance;
+import com.school.management.entity.StudentBalance;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StudentBalanceRepository extends JpaRepository<StudentBalance, Long> {
+
+    Optional<StudentBalance> findByStudentIdAndAcademicYear(Long studentId, String academicYear);
+
+    List<StudentBalance> findByStudentIdOrderByAcademicYearDesc(Long studentId);
+
+    // Impayés triés par reste à payer, servis par l'index (academic_year, outstanding)
+    @Query(value = "SELECT new com.school.management.dto.projection.OutstandingBalance(" +
+            "s.id, s.firstName, s.lastName, c.name, b.academicYear, b.amountDue, b.amountPaid, b.outstanding) " +
+            "FROM StudentBalance b JOIN b.student s LEFT JOIN s.studentClass c " +
+            "WHERE b.academicYear = :year AND b.outstanding > :minAmount " +
+            "ORDER BY b.outstanding DESC, s.id ASC",
+            countQuery = "SELECT COUNT(b) FROM StudentBalance b " +
+                    "WHERE b.academicYear = :year AND b.outstanding > :minAmount")
+    Page<OutstandingBalance> findOutstanding(@Param("year") String academicYear,
+                                             @Param("minAmount") BigDecimal minAmount,
+                                             Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(b.outstanding), 0) FROM StudentBalance b " +
+            "WHERE b.academicYear = :year AND b.outstanding > 0")
+    BigDecimal getTotalOutstanding(@Param("year") String academicYear);
+
+    // Mise à jour incrémentale lors d'un paiement (aucune lecture de la table des paiements)
+    @Modifying
+    @Query("UPDATE StudentBalance b SET b.amountPaid = b.amountPaid + :amount, " +
+            "b.outstanding = b.outstanding - :amount, b.updatedAt = :now " +
+            "WHERE b.student.id = :studentId AND b.academicYear = :year")
+    int applyPayment(@Param("studentId") Long studentId,
+                     @Param("year") String academicYear,
+                     @Param("amount") BigDecimal amount,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Recalcule les soldes de l'année donnée (ou de toutes les années, ou d'un seul élève) :
+     * un solde par élève pour son année d'inscription et pour chaque année où il a des
+     * paiements. Montant du barème de l'année pour le niveau de la classe actuelle, à défaut
+     * celui de la section, et total des paiements de l'année. Les soldes des années clôturées
+     * sont figés : leurs paiements ont quitté la table active.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO student_balances " +
+            "(student_id, academic_year, amount_due, amount_paid, outstanding, updated_at) " +
+            "SELECT s.id, k.academic_year, " +
+            "COALESCE(fl.amount, fs.amount, 0), " +
+            "COALESCE(p.paid, 0), " +
+            "COALESCE(fl.amount, fs.amount, 0) - COALESCE(p.paid, 0), " +
+            ":now " +
+            "FROM (SELECT st.id AS student_id, st.academic_year FROM students st " +
+            "WHERE (:studentId IS NULL OR st.id = :studentId) " +
+            "UNION SELECT pk.student_id, pk.academic_year FROM payments pk " +
+            "WHERE (:studentId IS NULL OR pk.student_id = :studentId)) k " +
+            "JOIN students s ON s.id = k.student_id " +
+            "LEFT JOIN classes c ON c.id = s.class_id " +
+            "LEFT JOIN fee_schedules fl ON fl.section = s.section AND fl.academic_year = k.academic_year " +
+            "AND fl.level = c.level " +
+            "LEFT JOIN fee_schedules fs ON fs.section = s.section AND fs.academic_year = k.academic_year " +
+            "AND fs.level IS NULL " +
+            "LEFT JOIN (SELECT pp.student_id, pp.academic_year, SUM(pp.amount) AS paid FROM payments pp " +
+            "WHERE (:studentId IS NULL OR pp.student_id = :studentId) " +
+            "GROUP BY pp.student_id, pp.academic_year) p " +
+            "ON p.student_id = s.id AND p.academic_year = k.academic_year " +
+            "WHERE (:year IS NULL OR k.academic_year = :year) " +
+            "AND k.academic_year NOT IN (SELECT yc.academic_year FROM academic_year_closures yc) " +
+            "ON DUPLICATE KEY UPDATE amount_due = VALUES(amount_due), amount_paid = VALUES(amount_paid), " +
+            "outstanding = VALUES(outstanding), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int refresh(@Param("year") String academicYear,
+                @Param("studentId") Long studentId,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Recalcule le solde d'un élève pour une année donnée, qui peut différer de son année
+     * d'inscription (paiement d'une année précédente) : barème de cette année pour la
+     * section et le niveau actuels de l'élève, et total de ses paiements de l'année.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO student_balances " +
+            "(student_id, academic_year, amount_due, amount_paid, outstanding, updated_at) " +
+            "SELECT s.id, :year, " +
+            "COALESCE(fl.amount, fs.amount, 0), " +
+            "COALESCE(p.paid, 0), " +
+            "COALESCE(fl.amount, fs.amount, 0) - COALESCE(p.paid, 0), " +
+            ":now " +
+            "FROM students s " +
+            "LEFT JOIN classes c ON c.id = s.class_id " +
+            "LEFT JOIN fee_schedules fl ON fl.section = s.section AND fl.academic_year = :year " +
+            "AND fl.level = c.level " +
+            "LEFT JOIN fee_schedules fs ON fs.section = s.section AND fs.academic_year = :year " +
+            "AND fs.level IS NULL " +
+            "LEFT JOIN (SELECT pp.student_id, SUM(pp.amount) AS paid FROM payments pp " +
+            "WHERE pp.student_id = :studentId AND pp.academic_year = :year " +
+            "GROUP BY pp.student_id) p ON p.student_id = s.id " +
+            "WHERE s.id = :studentId " +
+            "AND :year NOT IN (SELECT yc.academic_year FROM academic_year_closures yc) " +
+            "ON DUPLICATE KEY UPDATE amount_due = VALUES(amount_due), amount_paid = VALUES(amount_paid), " +
+            "outstanding = VALUES(outstanding), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int refreshStudentYear(@Param("studentId") Long studentId,
+                           @Param("year") String academicYear,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StudentBalance b WHERE b.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+}
@@ -1,27 +1,40 @@
 // repository/StudentRepository.java
 package com.school.management.repository;
 
+import com.school.management.dto.projection.StudentRow;
 import com.school.management.entity.Student;
 import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
 
+    @EntityGraph(attributePaths = "studentClass")
     List<Student> findBySection(Section section);
+
+    @EntityGraph(attributePaths = "studentClass")
     List<Student> findByLanguage(Language language);
+
+    @EntityGraph(attributePaths = "studentClass")
     List<Student> findByAcademicYear(String academicYear);
+
+    @EntityGraph(attributePaths = "studentClass")
     List<Student> findBySectionAndLanguage(Section section, Language language);
+
+    @EntityGraph(attributePaths = "studentClass")
     List<Student> findByStudentClassId(Long classId);
 
+    @EntityGraph(attributePaths = "studentClass")
     @Query("SELECT s FROM Student s WHERE " +
             "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%'))")
@@ -31,4 +44,56 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Long countBySection(@Param("section") Section section, @Param("year") String year);
 
     long countByStudentClassId(Long classId);
+
+    // Comptage groupé utilisé pour la réconciliation des compteurs du tableau de bord
+    @Query("SELECT s.section, s.language, s.academicYear, COUNT(s) FROM Student s " +
+            "GROUP BY s.section, s.language, s.academicYear")
+    List<Object[]> countGroupedBySectionLanguageAndYear();
+
+    // Champs indexés par le moteur de recherche en mémoire
+    @Query("SELECT s.id, s.firstName, s.lastName FROM Student s")
+    List<Object[]> findSearchableFields();
+
+    // Plans de chargement des listes : la classe est jointe pour StudentMapper.toResponse
+    @Override
+    @EntityGraph(attributePaths = "studentClass")
+    List<Student> findAll();
+
+    // Projections des listes en lecture seule : seules les colonnes de StudentResponse sont lues,
+    // sans entité gérée ni contrôle des modifications
+    String STUDENT_ROW = "SELECT new com.school.management.dto.projection.StudentRow(" +
+            "s.id, s.firstName, s.lastName, s.dateOfBirth, s.gender, s.section, s.language, s.academicYear, " +
+            "s.parentName, s.parentPhone, s.parentEmail, s.address, c.name, s.registrationDate) " +
+            "FROM Student s LEFT JOIN s.studentClass c ";
+
+    @Query(STUDENT_ROW)
+    List<StudentRow> findAllRows();
+
+    @Query(STUDENT_ROW + "WHERE s.section = :section")
+    List<StudentRow> findRowsBySection(@Param("section") Section section);
+
+    @Query(STUDENT_ROW + "WHERE s.language = :language")
+    List<StudentRow> findRowsByLanguage(@Param("language") Language language);
+
+    @Query(STUDENT_ROW + "WHERE c.id = :classId")
+    List<StudentRow> findRowsByClassId(@Param("classId") Long classId);
+
+    @Query(STUDENT_ROW + "WHERE s.id IN :ids")
+    List<StudentRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = STUDENT_ROW + "WHERE " +
+            "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%'))",
+            countQuery = "SELECT COUNT(s) FROM Student s WHERE " +
+                    "LOWER(s.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+                    "LOWER(s.lastName) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<StudentRow> findRowsBySearch(@Param("search") String search, Pageable pageable);
+
+    // Pagination par clé (nom, id) : ni OFFSET ni COUNT
+    @Query(STUDENT_ROW + "ORDER BY s.lastName ASC, s.id ASC")
+    List<StudentRow> findFirstPage(Pageable pageable);
+
+    @Query(STUDENT_ROW + "WHERE s.lastName > :lastName OR (s.lastName = :lastName AND s.id > :id) " +
+            "ORDER BY s.lastName ASC, s.id ASC")
+    List<StudentRow> findPageAfter(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
 }
@@ -1,11 +1,16 @@
 // repository/SubjectRepository.java
 package com.school.management.repository;
 
+import com.school.management.config.ReferenceCacheConfig;
 import com.school.management.entity.Subject;
 import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,9 +18,36 @@ import java.util.List;
 
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
+    // Recherches de référence : résultats conservés dans le cache de requêtes (invalidé à chaque écriture)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
+    @Override
+    List<Subject> findAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Subject> findBySection(Section section);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Subject> findByLanguage(Language language);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Subject> findBySectionAndLanguage(Section section, Language language);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+    })
     List<Subject> findByLevel(String level);
 
     // Méthodes ajoutées pour le service
@@ -26,4 +58,15 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
             "LOWER(s.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(s.code) LIKE LOWER(CONCAT('%', :search, '%'))")
     List<Subject> findBySearch(@Param("search") String search);
-}
\ No newline at end of file
+
+    // Champs indexés par le moteur de recherche en mémoire
+    @Query("SELECT s.id, s.name, s.code FROM Subject s")
+    List<Object[]> findSearchableFields();
+
+    // Pagination par clé (nom, id) : ni OFFSET ni COUNT
+    List<Subject> findAllByOrderByNameAscIdAsc(Pageable pageable);
+
+    @Query("SELECT s FROM Subject s WHERE s.name > :name OR (s.name = :name AND s.id > :id) " +
+            "ORDER BY s.name ASC, s.id ASC")
+    List<Subject> findPageAfter(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+}
@@ -1,9 +1,14 @@
     // repository/TeacherRepository.java
     package com.school.management.repository;
 
+    import com.school.management.config.ReferenceCacheConfig;
     import com.school.management.entity.Teacher;
+    import jakarta.persistence.QueryHint;
+    import org.hibernate.jpa.HibernateHints;
+    import org.springframework.data.domain.Pageable;
     import org.springframework.data.jpa.repository.JpaRepository;
     import org.springframework.data.jpa.repository.Query;
+    import org.springframework.data.jpa.repository.QueryHints;
     import org.springframework.data.repository.query.Param;
     import org.springframework.stereotype.Repository;
 
@@ -13,6 +18,14 @@
     @Repository
     public interface TeacherRepository extends JpaRepository<Teacher, Long> {
 
+        // Recherches de référence : résultats conservés dans le cache de requêtes (invalidé à chaque écriture)
+        @QueryHints({
+                @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+        })
+        @Override
+        List<Teacher> findAll();
+
         Optional<Teacher> findByEmail(String email);
 
         @Query("SELECT t FROM Teacher t WHERE " +
@@ -21,5 +34,20 @@
                 "LOWER(t.specialization) LIKE LOWER(CONCAT('%', :search, '%'))")
         List<Teacher> findBySearch(@Param("search") String search);
 
+        @QueryHints({
+                @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ReferenceCacheConfig.LOOKUP_REGION)
+        })
         List<Teacher> findBySpecialization(String specialization);
+
+        // Champs indexés par le moteur de recherche en mémoire
+        @Query("SELECT t.id, t.firstName, t.lastName, t.specialization FROM Teacher t")
+        List<Object[]> findSearchableFields();
+
+        // Pagination par clé (nom, id) : ni OFFSET ni COUNT
+        List<Teacher> findAllByOrderByLastNameAscIdAsc(Pageable pageable);
+
+        @Query("SELECT t FROM Teacher t WHERE t.lastName > :lastName OR (t.lastName = :lastName AND t.id > :id) " +
+                "ORDER BY t.lastName ASC, t.id ASC")
+        List<Teacher> findPageAfter(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
     }
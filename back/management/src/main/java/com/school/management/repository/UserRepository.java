@@ -1,9 +1,14 @@
 // repository/UserRepository.java
 package com.school.management.repository;
 
+import com.school.management.dto.projection.UserPrincipal;
 import com.school.management.entity.User;
 import com.school.management.entity.enums.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,4 +23,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Méthodes ajoutées (manquantes)
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Pagination par clé (identifiant de connexion, id) : ni OFFSET ni COUNT
+    List<User> findAllByOrderByUsernameAscIdAsc(Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.username > :username OR (u.username = :username AND u.id > :id) " +
+            "ORDER BY u.username ASC, u.id ASC")
+    List<User> findPageAfter(@Param("username") String username, @Param("id") Long id, Pageable pageable);
+
+    // Chargement du cache des utilisateurs authentifiés (une requête, sans entité)
+    @Query("SELECT new com.school.management.dto.projection.UserPrincipal(" +
+            "u.id, u.username, u.role, u.active, t.id, s.id, u.passwordChangedAt) " +
+            "FROM User u LEFT JOIN u.teacher t LEFT JOIN u.staff s WHERE u.id = :id")
+    Optional<UserPrincipal> findPrincipalById(@Param("id") Long id);
+
+    // Remplacement conditionnel de l'empreinte (aucun effet si le mot de passe a changé)
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :currentHash")
+    int replacePassword(@Param("id") Long id,
+                        @Param("currentHash") String currentHash,
+                        @Param("newHash") String newHash);
 }
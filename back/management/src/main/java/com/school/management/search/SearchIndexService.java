@@ -0,0 +1,159 @@
+// search/SearchIndexService.java
+package com.school.management.search;
+
+import com.school.management.entity.Student;
+import com.school.management.entity.Subject;
+import com.school.management.entity.Teacher;
+import com.school.management.repository.StudentRepository;
+import com.school.management.repository.SubjectRepository;
+import com.school.management.repository.TeacherRepository;
+import com.school.management.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BiConsumer;
+
+/**
+ * Index de recherche des élèves, enseignants et matières, tenu à jour par les
+ * services après chaque commit et reconstruit périodiquement depuis la base.
+ * Tant que le premier chargement n'est pas terminé, {@link #isReady()} renvoie
+ * false et les services retombent sur les requêtes LIKE.
+ * <p>
+ * Les recherches renvoient tous les identifiants correspondants, classés par
+ * pertinence : les services paginent cette liste, dont la taille est le total exact.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final SubjectRepository subjectRepository;
+
+    private volatile TrigramIndex students = new TrigramIndex();
+    private volatile TrigramIndex teachers = new TrigramIndex();
+    private volatile TrigramIndex subjects = new TrigramIndex();
+
+    // Modifications reçues pendant une reconstruction, rejouées sur le nouvel état.
+    // Le verrou couvre l'ajout au journal, le remplacement des index et le rejeu :
+    // une modification est appliquée aux nouveaux index, directement ou par le journal.
+    private final Object journalLock = new Object();
+    private Queue<Runnable> journal;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Long> searchStudents(String query) {
+        return students.search(query);
+    }
+
+    public List<Long> searchTeachers(String query) {
+        return teachers.search(query);
+    }
+
+    public List<Long> searchSubjects(String query) {
+        return subjects.search(query);
+    }
+
+    public void indexStudent(Student student) {
+        Long id = student.getId();
+        String firstName = student.getFirstName();
+        String lastName = student.getLastName();
+        apply(() -> students.put(id, firstName, lastName));
+    }
+
+    public void removeStudent(Long id) {
+        apply(() -> students.remove(id));
+    }
+
+    public void indexTeacher(Teacher teacher) {
+        Long id = teacher.getId();
+        String firstName = teacher.getFirstName();
+        String lastName = teacher.getLastName();
+        String specialization = teacher.getSpecialization();
+        apply(() -> teachers.put(id, firstName, lastName, specialization));
+    }
+
+    public void removeTeacher(Long id) {
+        apply(() -> teachers.remove(id));
+    }
+
+    public void indexSubject(Subject subject) {
+        Long id = subject.getId();
+        String name = subject.getName();
+        String code = subject.getCode();
+        apply(() -> subjects.put(id, name, code));
+    }
+
+    public void removeSubject(Long id) {
+        apply(() -> subjects.remove(id));
+    }
+
+    /**
+     * Reconstruit les trois index depuis la base (projections id + champs indexés)
+     * puis remplace les index courants ; les recherches continuent sur l'ancien état
+     * pendant le chargement.
+     */
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval-ms:3600000}")
+    // Chargement sur la base principale : une lecture sur la réplique perdrait les écritures
+    // validées pendant son retard, que le journal a déjà rejouées sur l'ancien index
+    @Transactional
+    public void rebuild() {
+        Queue<Runnable> pending = new ArrayDeque<>();
+        synchronized (journalLock) {
+            journal = pending;
+        }
+        try {
+            TrigramIndex freshStudents = load(studentRepository.findSearchableFields(),
+                    (index, row) -> index.put((Long) row[0], (String) row[1], (String) row[2]));
+            TrigramIndex freshTeachers = load(teacherRepository.findSearchableFields(),
+                    (index, row) -> index.put((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+            TrigramIndex freshSubjects = load(subjectRepository.findSearchableFields(),
+                    (index, row) -> index.put((Long) row[0], (String) row[1], (String) row[2]));
+
+            synchronized (journalLock) {
+                students = freshStudents;
+                teachers = freshTeachers;
+                subjects = freshSubjects;
+                ready = true;
+            }
+        } finally {
+            synchronized (journalLock) {
+                journal = null;
+                // Rejoue sur les nouveaux index les modifications validées pendant le chargement
+                Runnable change;
+                while ((change = pending.poll()) != null) {
+                    change.run();
+                }
+            }
+        }
+        log.debug("Index de recherche reconstruit : {} élèves, {} enseignants, {} matières",
+                students.size(), teachers.size(), subjects.size());
+    }
+
+    private TrigramIndex load(List<Object[]> rows, BiConsumer<TrigramIndex, Object[]> loader) {
+        TrigramIndex index = new TrigramIndex();
+        rows.forEach(row -> loader.accept(index, row));
+        return index;
+    }
+
+    private void apply(Runnable change) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (journalLock) {
+                change.run();
+                if (journal != null) {
+                    journal.add(change);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,226 @@
+// search/TrigramIndex.java
+package com.school.management.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index de recherche en mémoire par trigrammes sur des textes normalisés
+ * (minuscules, sans accents). Tolère les fautes de frappe et classe les résultats :
+ * correspondance exacte d'un début de mot, puis sous-chaîne, puis proportion de
+ * trigrammes communs. Une requête de moins de trois caractères n'a pas de trigramme
+ * intérieur : elle est cherchée comme sous-chaîne dans tous les textes.
+ */
+public class TrigramIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    // Proportion minimale de trigrammes de la requête présents dans le document
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long id, String... fields) {
+        Entry entry = new Entry(normalize(String.join(" ", nonNull(fields))));
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            entries.put(id, entry);
+            for (String trigram : entry.trigrams) {
+                postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Identifiants correspondant à la requête, du plus pertinent au moins pertinent.
+     */
+    public List<Long> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    public List<Long> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        if (normalizedQuery.length() < 3) {
+            return rank(substringMatches(normalizedQuery), limit);
+        }
+        Set<String> queryTrigrams = queryTrigrams(normalizedQuery);
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<Long> ids = postings.get(trigram);
+                if (ids != null) {
+                    for (Long id : ids) {
+                        shared.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<Long, Integer> candidate : shared.entrySet()) {
+                Entry entry = entries.get(candidate.getKey());
+                double similarity = (double) candidate.getValue() / queryTrigrams.size();
+                double score = similarity;
+                if (entry.text.contains(normalizedQuery)) {
+                    score += 1.0;
+                    if (entry.text.startsWith(normalizedQuery) || entry.text.contains(" " + normalizedQuery)) {
+                        score += 1.0;
+                    }
+                } else if (similarity < MIN_SIMILARITY) {
+                    continue;
+                }
+                matches.add(new Match(candidate.getKey(), score, entry.text.length()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return rank(matches, limit);
+    }
+
+    // Parcours complet : début de mot d'abord, puis sous-chaîne à l'intérieur d'un mot
+    private List<Match> substringMatches(String normalizedQuery) {
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, Entry> candidate : entries.entrySet()) {
+                String text = candidate.getValue().text;
+                if (text.contains(normalizedQuery)) {
+                    double score = text.startsWith(normalizedQuery) || text.contains(" " + normalizedQuery) ? 2.0 : 1.0;
+                    matches.add(new Match(candidate.getKey(), score, text.length()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private static List<Long> rank(List<Match> matches, int limit) {
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(Match::score).reversed()
+                        .thenComparingInt(Match::length)
+                        .thenComparing(Match::id))
+                .limit(limit)
+                .map(Match::id)
+                .toList();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Trigrammes d'un document : chaque mot est encadré pour marquer son début et sa fin
+    private static Set<String> documentTrigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.split(" ")) {
+            if (!word.isEmpty()) {
+                addTrigrams(trigrams, "  " + word + " ");
+            }
+        }
+        return trigrams;
+    }
+
+    // Trigrammes d'une requête : la fin du dernier mot reste ouverte pour la recherche par préfixe
+    private static Set<String> queryTrigrams(String query) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        String[] words = query.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            String suffix = i == words.length - 1 ? "" : " ";
+            addTrigrams(trigrams, "  " + words[i] + suffix);
+        }
+        return trigrams;
+    }
+
+    private static void addTrigrams(Set<String> trigrams, String padded) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private void removeUnlocked(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String trigram : previous.trigrams) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static String[] nonNull(String[] fields) {
+        return Arrays.stream(fields).map(f -> f != null ? f : "").toArray(String[]::new);
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final Set<String> trigrams;
+
+        private Entry(String text) {
+            this.text = text;
+            this.trigrams = documentTrigrams(text);
+        }
+    }
+
+    private record Match(Long id, double score, int length) {
+    }
+}
@@ -0,0 +1,125 @@
+// service/AcademicYearService.java
+package com.school.management.service;
+
+import com.school.management.entity.AcademicYearClosure;
+import com.school.management.repository.AcademicYearClosureRepository;
+import com.school.management.repository.DisciplineArchiveRepository;
+import com.school.management.repository.DocumentArchiveRepository;
+import com.school.management.repository.GradeArchiveRepository;
+import com.school.management.repository.PaymentArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Clôture des années scolaires : les notes, paiements et documents de l'année, ainsi
+ * que les incidents résolus survenus pendant l'année, quittent les tables actives pour
+ * les tables d'archive. Les années se clôturent dans l'ordre. Les tables actives ne contiennent ainsi que l'année en cours ; les lectures
+ * d'archives se font à la demande (paramètre includeArchived des listes).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AcademicYearService {
+
+    private static final Pattern YEAR_FORMAT = Pattern.compile("(\\d{4})\\s*[-/]\\s*(\\d{4})");
+
+    private final AcademicYearClosureRepository closureRepository;
+    private final GradeArchiveRepository gradeArchiveRepository;
+    private final PaymentArchiveRepository paymentArchiveRepository;
+    private final DisciplineArchiveRepository disciplineArchiveRepository;
+    private final DocumentArchiveRepository documentArchiveRepository;
+    private final FeeLedgerService feeLedgerService;
+
+    @Value("${app.archive.school-year-start-month:9}")
+    private int schoolYearStartMonth;
+
+    /**
+     * Déplace l'année dans les archives, en une seule transaction. Les soldes des élèves
+     * sont recalculés une dernière fois avant le départ des paiements, puis figés.
+     */
+    public AcademicYearClosure closeYear(String academicYear, String closedBy) {
+        int startYear = startYear(academicYear);
+        LocalDate yearStart = LocalDate.of(startYear, schoolYearStartMonth, 1);
+        LocalDate yearEnd = yearStart.plusYears(1);
+        if (closureRepository.existsByAcademicYear(academicYear)) {
+            throw new IllegalArgumentException("L'année scolaire " + academicYear + " est déjà clôturée");
+        }
+        // Les années se clôturent dans l'ordre : une année antérieure ouverte garderait ses lignes actives
+        List<String> earlierOpenYears = closureRepository.findOpenYears().stream()
+                .filter(year -> YEAR_FORMAT.matcher(year.trim()).matches() && startYear(year) < startYear)
+                .sorted()
+                .toList();
+        if (!earlierOpenYears.isEmpty()) {
+            throw new IllegalArgumentException("Clôturer d'abord l'année scolaire " + earlierOpenYears.get(0));
+        }
+
+        feeLedgerService.refreshYear(academicYear);
+
+        AcademicYearClosure closure = new AcademicYearClosure();
+        closure.setAcademicYear(academicYear);
+        closure.setClosedBy(closedBy);
+        closure.setGradesArchived(move("grades",
+                gradeArchiveRepository.copyYear(academicYear),
+                gradeArchiveRepository.deleteArchivedFromActive(academicYear)));
+        closure.setPaymentsArchived(move("payments",
+                paymentArchiveRepository.copyYear(academicYear),
+                paymentArchiveRepository.deleteArchivedFromActive(academicYear)));
+        closure.setDisciplinesArchived(move("disciplines",
+                disciplineArchiveRepository.copyResolvedDuring(academicYear, yearStart, yearEnd),
+                disciplineArchiveRepository.deleteArchivedFromActive(academicYear, yearStart, yearEnd)));
+        closure.setDocumentsArchived(move("documents",
+                documentArchiveRepository.copyYear(academicYear),
+                documentArchiveRepository.deleteArchivedFromActive(academicYear)));
+
+        AcademicYearClosure savedClosure = closureRepository.save(closure);
+        log.info("Année scolaire {} clôturée : {} notes, {} paiements, {} incidents, {} documents archivés",
+                academicYear, closure.getGradesArchived(), closure.getPaymentsArchived(),
+                closure.getDisciplinesArchived(), closure.getDocumentsArchived());
+        return savedClosure;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AcademicYearClosure> getClosures() {
+        return closureRepository.findAllByOrderByAcademicYearDesc();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isClosed(String academicYear) {
+        return academicYear != null && closureRepository.existsByAcademicYear(academicYear);
+    }
+
+    // Les saisies d'une année clôturée iraient dans les tables actives, hors des archives
+    @Transactional(readOnly = true)
+    public void requireOpen(String academicYear) {
+        if (isClosed(academicYear)) {
+            throw new IllegalArgumentException("L'année scolaire " + academicYear + " est clôturée");
+        }
+    }
+
+    // Toute ligne copiée doit avoir quitté la table active, sinon la transaction est annulée
+    private static int move(String table, int copied, int deleted) {
+        if (copied != deleted) {
+            throw new IllegalStateException("Archivage de " + table + " incohérent : "
+                    + copied + " lignes copiées, " + deleted + " supprimées");
+        }
+        return copied;
+    }
+
+    // Année de la rentrée : 2024 pour « 2024-2025 »
+    private static int startYear(String academicYear) {
+        Matcher matcher = academicYear != null ? YEAR_FORMAT.matcher(academicYear.trim()) : null;
+        if (matcher == null || !matcher.matches()) {
+            throw new IllegalArgumentException("Année scolaire invalide (format attendu : 2024-2025)");
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+}
@@ -1,6 +1,7 @@
 // service/ClassService.java
 package com.school.management.service;
 
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Class;
 import com.school.management.entity.Student;
 import com.school.management.entity.Teacher;
@@ -10,11 +11,14 @@ import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.repository.ClassRepository;
 import com.school.management.repository.StudentRepository;
 import com.school.management.repository.TeacherRepository;
+import com.school.management.service.ResourceVersions.Resource;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +28,9 @@ public class ClassService {
     private final ClassRepository classRepository;
     private final TeacherRepository teacherRepository;
     private final StudentRepository studentRepository;
+    private final StatisticsService statisticsService;
+    private final ReferenceCacheService referenceCacheService;
+    private final ResourceVersions resourceVersions;
 
     public Class createClass(Class classEntity) {
         // Vérification basée sur les champs réels de l'entité
@@ -34,13 +41,18 @@ public class ClassService {
                 classEntity.getLanguage())) {
             throw new IllegalArgumentException("Une classe avec ces caractéristiques existe déjà");
         }
-        return classRepository.save(classEntity);
+        Class savedClass = classRepository.save(classEntity);
+        statisticsService.classAdded(savedClass);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.CLASSES);
+        return savedClass;
     }
 
     public Class updateClass(Long id, Class classUpdate) {
         Class classEntity = classRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Classe non trouvée"));
 
+        StatisticsService.Dimensions before = StatisticsService.Dimensions.of(classEntity);
         classEntity.setName(classUpdate.getName());
         classEntity.setLevel(classUpdate.getLevel()); // Nouveau champ
         classEntity.setSection(classUpdate.getSection());
@@ -49,7 +61,11 @@ public class ClassService {
         classEntity.setAcademicYear(classUpdate.getAcademicYear());
         // Note: description n'existe pas dans l'entité
 
-        return classRepository.save(classEntity);
+        Class updatedClass = classRepository.save(classEntity);
+        statisticsService.classMoved(before, updatedClass);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.CLASSES);
+        return updatedClass;
     }
 
     @Transactional(readOnly = true)
@@ -63,6 +79,16 @@ public class ClassService {
         return classRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Class> getClassesPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Class> rows = after == null
+                ? classRepository.findAllByOrderByNameAscIdAsc(KeysetCursor.limit(size))
+                : classRepository.findPageAfter(after.key(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, Class::getName, Class::getId, Function.identity(),
+                withTotal ? classRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public List<Class> getClassesBySection(Section section) {
         return classRepository.findBySection(section);
@@ -104,6 +130,8 @@ public class ClassService {
                 .orElseThrow(() -> new ResourceNotFoundException("Enseignant non trouvé"));
 
         classEntity.setTeacher(teacher); // Changé de classTeacher à teacher
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.CLASSES);
         return classRepository.save(classEntity);
     }
 
@@ -115,6 +143,9 @@ public class ClassService {
             throw new IllegalStateException("Impossible de supprimer une classe qui contient des élèves");
         }
 
-        classRepository.deleteById(id);
+        classRepository.delete(classEntity);
+        statisticsService.classRemoved(classEntity);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.CLASSES);
     }
 }
\ No newline at end of file
@@ -1,24 +1,32 @@
 // service/DisciplineService.java
 package com.school.management.service;
 
+import com.school.management.dto.projection.DisciplineRow;
 import com.school.management.dto.request.DisciplineCreateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.DisciplineResponse;
 import com.school.management.entity.Discipline;
 import com.school.management.entity.Student;
 import com.school.management.entity.enums.DisciplineType;
 import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.mapper.DisciplineMapper;
+import com.school.management.repository.DisciplineArchiveRepository;
 import com.school.management.repository.DisciplineRepository;
 import com.school.management.repository.StudentRepository;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +36,8 @@ public class DisciplineService {
     private final DisciplineRepository disciplineRepository;
     private final StudentRepository studentRepository;
     private final DisciplineMapper disciplineMapper;
+    private final DisciplineArchiveRepository disciplineArchiveRepository;
+    private final JsonArrayWriter jsonArrayWriter;
 
     public DisciplineResponse createDiscipline(DisciplineCreateRequest request) {
         Student student = studentRepository.findById(request.getStudentId())
@@ -94,56 +104,79 @@ public class DisciplineService {
     }
 
     @Transactional(readOnly = true)
-    public List<DisciplineResponse> getDisciplinesByStudent(Long studentId) {
-        return disciplineRepository.findByStudentId(studentId).stream()
+    public List<DisciplineResponse> getDisciplinesByStudent(Long studentId, boolean includeArchived) {
+        Stream<DisciplineRow> rows = disciplineRepository.findRowsByStudentId(studentId).stream();
+        if (includeArchived) {
+            rows = Stream.concat(rows, disciplineArchiveRepository.findRowsByStudentId(studentId).stream());
+        }
+        return rows
                 .map(disciplineMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<DisciplineResponse> getDisciplinesByStudentAndResolved(Long studentId, Boolean resolved) {
-        return disciplineRepository.findByStudentIdAndResolved(studentId, resolved).stream()
+        return disciplineRepository.findRowsByStudentIdAndResolved(studentId, resolved).stream()
                 .map(disciplineMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<DisciplineResponse> getDisciplinesByType(DisciplineType type) {
-        return disciplineRepository.findByType(type).stream()
+        return disciplineRepository.findRowsByType(type).stream()
                 .map(disciplineMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<DisciplineResponse> getDisciplinesByResolved(Boolean resolved) {
-        return disciplineRepository.findByResolved(resolved).stream()
+        return disciplineRepository.findRowsByResolved(resolved).stream()
                 .map(disciplineMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Page<DisciplineResponse> getDisciplinesByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        return disciplineRepository.findByIncidentDateBetween(startDate, endDate, pageable)
+        return disciplineRepository.findRowsByIncidentDateBetween(startDate, endDate, pageable)
                 .map(disciplineMapper::toResponse);
     }
 
     @Transactional(readOnly = true)
     public List<DisciplineResponse> getDisciplinesByDateRange(LocalDate startDate, LocalDate endDate) {
-        return disciplineRepository.findByIncidentDateBetween(startDate, endDate).stream()
+        return disciplineRepository.findRowsByIncidentDateBetween(startDate, endDate).stream()
                 .map(disciplineMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<DisciplineResponse> getAllDisciplines() {
-        return disciplineRepository.findAll().stream()
+        return disciplineRepository.findAllRows().stream()
                 .map(disciplineMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // Tous les incidents en flux JSON, plus récents d'abord ; une transaction par lot
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeAllDisciplines(OutputStream out) throws IOException {
+        jsonArrayWriter.write(out,
+                disciplineRepository::findFirstPage,
+                (last, batch) -> disciplineRepository.findPageAfter(last.incidentDate(), last.id(), batch),
+                disciplineMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<DisciplineResponse> getDisciplinesPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<DisciplineRow> rows = after == null
+                ? disciplineRepository.findFirstPage(KeysetCursor.limit(size))
+                : disciplineRepository.findPageAfter(after.dateKey(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, DisciplineRow::incidentDate, DisciplineRow::id, disciplineMapper::toResponse,
+                withTotal ? disciplineRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public Page<DisciplineResponse> getAllDisciplines(Pageable pageable) {
-        return disciplineRepository.findAll(pageable)
+        return disciplineRepository.findAllRows(pageable)
                 .map(disciplineMapper::toResponse);
     }
 
@@ -160,7 +193,7 @@ public class DisciplineService {
     @Transactional(readOnly = true)
     public List<DisciplineResponse> getRecentDisciplines(int days) {
         LocalDate startDate = LocalDate.now().minusDays(days);
-        return disciplineRepository.findByIncidentDateBetween(startDate, LocalDate.now()).stream()
+        return disciplineRepository.findRowsByIncidentDateBetween(startDate, LocalDate.now()).stream()
                 .map(disciplineMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,99 @@
+// service/DocumentExportService.java
+package com.school.management.service;
+
+import com.school.management.dto.projection.DocumentExportRow;
+import com.school.management.repository.DocumentRepository;
+import com.school.management.storage.BlobStore;
+import com.school.management.storage.ContentTypes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Export ZIP des documents correspondant à un filtre (classe, année scolaire,
+ * trimestre, type). L'archive est écrite directement dans la réponse, sans fichier
+ * temporaire ; les métadonnées sont lues par lots et les formats déjà compressés
+ * (PDF, images) sont stockés sans recompression.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentExportService {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final DocumentRepository documentRepository;
+    private final BlobStore blobStore;
+
+    public void writeZip(Long classId, String academicYear, String term, String type, OutputStream out)
+            throws IOException {
+        checkFilter(classId, academicYear, term, type);
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        long afterId = 0;
+        int written = 0;
+        List<DocumentExportRow> rows;
+        do {
+            rows = documentRepository.findExportPage(afterId, classId, academicYear, term, type,
+                    PageRequest.of(0, BATCH_SIZE));
+            for (DocumentExportRow row : rows) {
+                if (addEntry(zip, row)) {
+                    written++;
+                }
+                afterId = row.id();
+            }
+        } while (rows.size() == BATCH_SIZE);
+
+        zip.finish();
+        zip.flush();
+        log.debug("Export ZIP : {} documents écrits", written);
+    }
+
+    // Appelé avant d'ouvrir la réponse, pour renvoyer une erreur 400 plutôt qu'une archive vide
+    public void checkFilter(Long classId, String academicYear, String term, String type) {
+        if (classId == null && academicYear == null && term == null && type == null) {
+            throw new IllegalArgumentException("Au moins un filtre est requis pour l'export");
+        }
+    }
+
+    private boolean addEntry(ZipOutputStream zip, DocumentExportRow row) throws IOException {
+        Path path = row.contentHash() != null
+                ? blobStore.resolve(row.contentHash())
+                : row.filePath() != null ? Paths.get(row.filePath()) : null;
+        if (path == null || !Files.isRegularFile(path)) {
+            log.warn("Document {} absent du stockage, ignoré dans l'export", row.id());
+            return false;
+        }
+
+        zip.setLevel(ContentTypes.isCompressed(row.mimeType())
+                ? Deflater.NO_COMPRESSION
+                : Deflater.DEFAULT_COMPRESSION);
+        zip.putNextEntry(new ZipEntry(entryName(row)));
+        Files.copy(path, zip);
+        zip.closeEntry();
+        return true;
+    }
+
+    // Un dossier par élève ; l'id garantit l'unicité du nom dans l'archive
+    private String entryName(DocumentExportRow row) {
+        String folder = row.studentLastName() != null
+                ? sanitize(row.studentLastName() + "_" + row.studentFirstName())
+                : "sans_eleve";
+        return folder + "/" + row.id() + "_" + sanitize(row.type() + "_" + row.name());
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+    }
+}
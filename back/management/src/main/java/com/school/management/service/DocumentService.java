@@ -1,72 +1,122 @@
 // service/DocumentService.java
 package com.school.management.service;
 
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Document;
+import com.school.management.entity.DocumentArchive;
 import com.school.management.entity.Student;
 import com.school.management.exception.ResourceNotFoundException;
+import com.school.management.repository.DocumentArchiveRepository;
 import com.school.management.repository.DocumentRepository;
 import com.school.management.repository.StudentRepository;
+import com.school.management.storage.BlobLocks;
+import com.school.management.storage.BlobStore;
+import com.school.management.storage.UploadPipeline;
+import com.school.management.util.KeysetCursor;
+import com.school.management.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class DocumentService {
 
     private final DocumentRepository documentRepository;
+    private final DocumentArchiveRepository documentArchiveRepository;
     private final StudentRepository studentRepository;
-    private final String uploadDir = "uploads/documents/";
+    private final BlobStore blobStore;
+    private final BlobLocks blobLocks;
+    private final UploadPipeline uploadPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonArrayWriter jsonArrayWriter;
 
-    public Document uploadDocument(MultipartFile file, Long studentId, String documentType,
-                                   String academicYear, String term, String createdBy) throws IOException {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
-
-        // Créer le répertoire s'il n'existe pas
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+    /**
+     * Téléversement : la copie du fichier (empreinte et type calculés au passage) se fait
+     * sur l'exécuteur de réception, puis le fichier est mis en place et le document
+     * enregistré dans une transaction courte.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Document> uploadDocument(MultipartFile file, Long studentId, String documentType,
+                                                      String academicYear, String term, String createdBy) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Élève non trouvé");
         }
 
-        // Générer un nom de fichier unique
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Path filePath = uploadPath.resolve(fileName);
-
-        // Sauvegarder le fichier
-        Files.copy(file.getInputStream(), filePath);
-
-        // Créer l'entité Document
-        Document document = new Document();
-        document.setName(file.getOriginalFilename()); // Changé de fileName à name
-        document.setFilePath(filePath.toString());
-        document.setFileSize(file.getSize());
-        document.setMimeType(file.getContentType()); // Changé de contentType à mimeType
-        document.setType(documentType); // Changé de documentType à type
-        document.setStudent(student);
-        document.setCreatedAt(LocalDateTime.now()); // Changé de uploadDate à createdAt
-        document.setAcademicYear(academicYear);
-        document.setTerm(term);
-        document.setCreatedBy(createdBy);
-
-        return documentRepository.save(document);
+        return uploadPipeline.receive(file).thenApply(received -> {
+            Document document = new Document();
+            document.setName(file.getOriginalFilename()); // Changé de fileName à name
+            document.setMimeType(received.mimeType()); // Type détecté d'après le contenu
+            document.setType(documentType); // Changé de documentType à type
+            document.setAcademicYear(academicYear);
+            document.setTerm(term);
+            document.setCreatedBy(createdBy);
+            return storeDocument(received.blob(), document, studentId);
+        });
     }
 
     // Surcharge pour compatibilité avec l'ancienne signature
-    public Document uploadDocument(MultipartFile file, Long studentId, String documentType) throws IOException {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Document> uploadDocument(MultipartFile file, Long studentId, String documentType) {
         return uploadDocument(file, studentId, documentType, null, null, null);
     }
 
+    // Met le fichier en place et enregistre le document ; le verrou couvre les deux étapes
+    // pour qu'une suppression concurrente du même contenu ne puisse pas effacer le fichier
+    private Document storeDocument(BlobStore.StagedBlob blob, Document document, Long studentId) {
+        Lock lock = blobLocks.forHash(blob.hash());
+        lock.lock();
+        try {
+            Path filePath;
+            try {
+                filePath = blobStore.commit(blob);
+            } catch (IOException e) {
+                blobStore.discard(blob);
+                throw new UncheckedIOException(e);
+            }
+
+            try {
+                return transactionTemplate.execute(status -> {
+                    Student student = studentRepository.findById(studentId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
+                    document.setFilePath(filePath.toString());
+                    document.setContentHash(blob.hash());
+                    document.setFileSize(blob.size());
+                    document.setStudent(student);
+                    document.setCreatedAt(LocalDateTime.now()); // Changé de uploadDate à createdAt
+                    return documentRepository.save(document);
+                });
+            } catch (RuntimeException e) {
+                // Le fichier vient peut-être d'être créé : on le retire s'il n'est pas partagé
+                releaseBlob(blob.hash());
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Transactional(readOnly = true)
     public Document getDocumentById(Long id) {
         return documentRepository.findById(id)
@@ -74,8 +124,11 @@ public class DocumentService {
     }
 
     @Transactional(readOnly = true)
-    public List<Document> getDocumentsByStudent(Long studentId) {
-        return documentRepository.findByStudentId(studentId);
+    public List<Document> getDocumentsByStudent(Long studentId, boolean includeArchived) {
+        List<Document> documents = documentRepository.findByStudentId(studentId);
+        return includeArchived
+                ? withArchived(documents, documentArchiveRepository.findByStudentId(studentId))
+                : documents;
     }
 
     @Transactional(readOnly = true)
@@ -84,8 +137,11 @@ public class DocumentService {
     }
 
     @Transactional(readOnly = true)
-    public List<Document> getDocumentsByAcademicYear(String academicYear) {
-        return documentRepository.findByAcademicYear(academicYear);
+    public List<Document> getDocumentsByAcademicYear(String academicYear, boolean includeArchived) {
+        List<Document> documents = documentRepository.findByAcademicYear(academicYear);
+        return includeArchived
+                ? withArchived(documents, documentArchiveRepository.findByAcademicYear(academicYear))
+                : documents;
     }
 
     @Transactional(readOnly = true)
@@ -103,27 +159,108 @@ public class DocumentService {
         return documentRepository.findAll();
     }
 
-    public byte[] downloadDocument(Long id) throws IOException {
-        Document document = getDocumentById(id);
-        Path filePath = Paths.get(document.getFilePath());
+    // Tous les documents en flux JSON, plus récents d'abord (mêmes champs que la liste) ; une transaction par lot
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeAllDocuments(OutputStream out) throws IOException {
+        jsonArrayWriter.write(out,
+                documentRepository::findAllByOrderByCreatedAtDescIdDesc,
+                (last, batch) -> documentRepository.findPageAfter(last.getCreatedAt(), last.getId(), batch),
+                Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Document> getDocumentsPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Document> rows = after == null
+                ? documentRepository.findAllByOrderByCreatedAtDescIdDesc(KeysetCursor.limit(size))
+                : documentRepository.findPageAfter(after.dateTimeKey(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, Document::getCreatedAt, Document::getId, Function.identity(),
+                withTotal ? documentRepository::count : null);
+    }
+
+    /**
+     * Fichier à télécharger : une seule lecture du document en base (table active, ou
+     * archive sur demande), la taille et la date de modification viennent du disque.
+     */
+    @Transactional(readOnly = true)
+    public StoredFile getStoredFile(Long id, boolean archived) throws IOException {
+        Document document = archived
+                ? documentArchiveRepository.findById(id).map(DocumentService::fromArchive)
+                        .orElseThrow(() -> new ResourceNotFoundException("Document non trouvé"))
+                : getDocumentById(id);
+        if (document.getContentHash() == null && document.getFilePath() == null) {
+            throw new ResourceNotFoundException("Fichier non trouvé sur le disque");
+        }
 
-        if (!Files.exists(filePath)) {
+        Path filePath = document.getContentHash() != null
+                ? blobStore.resolve(document.getContentHash())
+                : Paths.get(document.getFilePath());
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
             throw new ResourceNotFoundException("Fichier non trouvé sur le disque");
         }
 
-        return Files.readAllBytes(filePath);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        // Le contenu adressé par empreinte ne change jamais : l'empreinte sert d'ETag
+        String etag = document.getContentHash() != null
+                ? "\"" + document.getContentHash() + "\""
+                : "\"" + document.getId() + "-" + Long.toHexString(attributes.size())
+                        + "-" + Long.toHexString(lastModified) + "\"";
+        return new StoredFile(filePath, document.getName(), document.getMimeType(),
+                attributes.size(), lastModified, etag);
     }
 
     public void deleteDocument(Long id) throws IOException {
         Document document = getDocumentById(id);
+        String contentHash = document.getContentHash();
 
-        // Supprimer le fichier du disque
-        Path filePath = Paths.get(document.getFilePath());
-        if (Files.exists(filePath)) {
-            Files.delete(filePath);
+        if (contentHash == null) {
+            // Ancien fichier propre au document : supprimé directement
+            Path filePath = Paths.get(document.getFilePath());
+            if (Files.exists(filePath)) {
+                Files.delete(filePath);
+            }
         }
 
         // Supprimer l'enregistrement de la base de données
         documentRepository.delete(document);
+
+        if (contentHash != null) {
+            TransactionUtils.afterCommit(() -> releaseBlob(contentHash));
+        }
+    }
+
+    // Supprime le fichier partagé une fois que plus aucun document n'y fait référence
+    private void releaseBlob(String contentHash) {
+        Lock lock = blobLocks.forHash(contentHash);
+        lock.lock();
+        try {
+            if (documentRepository.countByContentHash(contentHash) == 0
+                    && documentArchiveRepository.countByContentHash(contentHash) == 0) {
+                blobStore.delete(contentHash);
+            }
+        } catch (IOException e) {
+            log.warn("Impossible de supprimer le fichier {} du stockage", contentHash, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Documents archivés présentés sous la même forme que les documents actifs (copies détachées)
+    private static List<Document> withArchived(List<Document> documents, List<DocumentArchive> archived) {
+        List<Document> result = new ArrayList<>(documents);
+        archived.stream().map(DocumentService::fromArchive).forEach(result::add);
+        return result;
+    }
+
+    private static Document fromArchive(DocumentArchive archive) {
+        return new Document(archive.getId(), archive.getName(), archive.getType(), archive.getFilePath(),
+                archive.getMimeType(), archive.getFileSize(), archive.getContentHash(), archive.getStudent(),
+                archive.getCreatedAt(), archive.getCreatedBy(), archive.getAcademicYear(), archive.getTerm());
+    }
+
+    public record StoredFile(Path path, String name, String mimeType, long length, long lastModified, String etag) {
     }
-}
\ No newline at end of file
+}
@@ -1,28 +1,59 @@
 // service/EquipmentService.java - Version améliorée
 package com.school.management.service;
 
+import com.school.management.dto.projection.EquipmentMaintenanceRow;
+import com.school.management.dto.response.CursorPageResponse;
+import com.school.management.dto.response.MaintenanceWorklistResponse;
 import com.school.management.entity.Equipment;
 import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.repository.EquipmentRepository;
+import com.school.management.util.KeysetCursor;
+import com.school.management.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class EquipmentService {
 
+    private static final String NOT_SPECIFIED = "Non renseigné";
+    private static final int MAX_WINDOW_DAYS = 366;
+
     private final EquipmentRepository equipmentRepository;
 
+    @Value("${app.equipment.maintenance-lookahead-days:14}")
+    private int maintenanceLookaheadDays;
+
+    // Liste de maintenance du jour, recalculée chaque matin ou après une modification du parc.
+    // La génération, incrémentée à chaque modification validée, écarte une liste lue avant celle-ci.
+    private final AtomicLong worklistGeneration = new AtomicLong();
+    private final AtomicReference<CachedWorklist> worklist = new AtomicReference<>();
+
     public Equipment createEquipment(Equipment equipment) {
         if (equipmentRepository.existsBySerialNumber(equipment.getSerialNumber())) {
             throw new IllegalArgumentException("Un équipement avec ce numéro de série existe déjà");
         }
-        return equipmentRepository.save(equipment);
+        Equipment savedEquipment = equipmentRepository.save(equipment);
+        invalidateWorklist();
+        return savedEquipment;
     }
 
     public Equipment updateEquipment(Long id, Equipment equipmentUpdate) {
@@ -45,6 +76,7 @@ public class EquipmentService {
 
         // Note: Le serialNumber n'est pas mis à jour pour éviter les conflits
 
+        invalidateWorklist();
         return equipmentRepository.save(equipment);
     }
 
@@ -59,6 +91,16 @@ public class EquipmentService {
         return equipmentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Equipment> getEquipmentPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Equipment> rows = after == null
+                ? equipmentRepository.findAllByOrderByIdAsc(KeysetCursor.limit(size))
+                : equipmentRepository.findByIdGreaterThanOrderByIdAsc(after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, e -> null, Equipment::getId, Function.identity(),
+                withTotal ? equipmentRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public List<Equipment> getEquipmentByCategory(String category) {
         return equipmentRepository.findByCategory(category);
@@ -81,8 +123,80 @@ public class EquipmentService {
 
     @Transactional(readOnly = true)
     public List<Equipment> getEquipmentNeedingMaintenance() {
+        return equipmentRepository.findByMaintenanceDateBeforeOrderByMaintenanceDateAscIdAsc(LocalDate.now());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Equipment> getEquipmentNeedingMaintenance(Pageable pageable) {
+        return equipmentRepository.findByMaintenanceDateBeforeOrderByMaintenanceDateAscIdAsc(LocalDate.now(), pageable);
+    }
+
+    // Maintenance prévue entre aujourd'hui et aujourd'hui + days (inclus)
+    @Transactional(readOnly = true)
+    public Page<Equipment> getEquipmentMaintenanceDueWithin(int days, Pageable pageable) {
+        validateWindow(days);
+        LocalDate today = LocalDate.now();
+        return equipmentRepository.findByMaintenanceDateBetweenOrderByMaintenanceDateAscIdAsc(
+                today, today.plusDays(days), pageable);
+    }
+
+    // Garantie expirant entre aujourd'hui et aujourd'hui + days (inclus)
+    @Transactional(readOnly = true)
+    public Page<Equipment> getEquipmentWarrantyExpiringWithin(int days, Pageable pageable) {
+        validateWindow(days);
+        LocalDate today = LocalDate.now();
+        return equipmentRepository.findByWarrantyExpiryDateBetweenOrderByWarrantyExpiryDateAscIdAsc(
+                today, today.plusDays(days), pageable);
+    }
+
+    // Transaction en écriture : un recalcul lit la base principale, pas la réplique en retard
+    // (la connexion n'est prise qu'au recalcul, pas quand la liste en mémoire est servie)
+    @Transactional
+    public MaintenanceWorklistResponse getMaintenanceWorklist() {
+        CachedWorklist current = worklist.get();
+        if (current == null || current.generation() != worklistGeneration.get()
+                || !current.worklist().getDate().equals(LocalDate.now())) {
+            return buildMaintenanceWorklist();
+        }
+        return current.worklist();
+    }
+
+    @Scheduled(cron = "${app.equipment.worklist-cron:0 0 6 * * *}")
+    @Transactional
+    public void rebuildMaintenanceWorklist() {
+        buildMaintenanceWorklist();
+    }
+
+    /**
+     * Précalcule la liste de maintenance du jour (une requête indexée sur la date de
+     * maintenance) et sa répartition par lieu et par catégorie. La liste n'est publiée que
+     * si aucune modification n'a été validée pendant la lecture ; sinon elle est seulement
+     * renvoyée, et la lecture suivante recalcule.
+     */
+    private MaintenanceWorklistResponse buildMaintenanceWorklist() {
+        long generation = worklistGeneration.get();
+        CachedWorklist previous = worklist.get();
         LocalDate today = LocalDate.now();
-        return equipmentRepository.findByMaintenanceDateBefore(today);
+        List<EquipmentMaintenanceRow> overdue = new ArrayList<>();
+        List<EquipmentMaintenanceRow> upcoming = new ArrayList<>();
+        Map<String, Long> byLocation = new TreeMap<>();
+        Map<String, Long> byCategory = new TreeMap<>();
+
+        for (EquipmentMaintenanceRow row : equipmentRepository.findMaintenanceRowsUntil(
+                today.plusDays(maintenanceLookaheadDays))) {
+            (row.maintenanceDate().isBefore(today) ? overdue : upcoming).add(row);
+            byLocation.merge(label(row.location()), 1L, Long::sum);
+            byCategory.merge(label(row.category()), 1L, Long::sum);
+        }
+
+        MaintenanceWorklistResponse built = new MaintenanceWorklistResponse(today, LocalDateTime.now(),
+                maintenanceLookaheadDays, overdue.size(), upcoming.size(), byLocation, byCategory, overdue, upcoming);
+        if (worklistGeneration.get() == generation) {
+            worklist.compareAndSet(previous, new CachedWorklist(generation, built));
+        }
+        log.info("Liste de maintenance du {} : {} équipements en retard, {} à traiter sous {} jours",
+                today, overdue.size(), upcoming.size(), maintenanceLookaheadDays);
+        return built;
     }
 
     public void deleteEquipment(Long id) {
@@ -90,6 +204,7 @@ public class EquipmentService {
             throw new ResourceNotFoundException("Équipement non trouvé");
         }
         equipmentRepository.deleteById(id);
+        invalidateWorklist();
     }
 
     // Méthodes supplémentaires utiles
@@ -101,10 +216,27 @@ public class EquipmentService {
 
     @Transactional(readOnly = true)
     public List<Equipment> getEquipmentUnderWarranty() {
-        LocalDate today = LocalDate.now();
-        return equipmentRepository.findAll().stream()
-                .filter(eq -> eq.getWarrantyExpiryDate() != null &&
-                        eq.getWarrantyExpiryDate().isAfter(today))
-                .toList();
+        return equipmentRepository.findByWarrantyExpiryDateAfterOrderByWarrantyExpiryDateAscIdAsc(LocalDate.now());
+    }
+
+    // Le recalcul se fera à la prochaine lecture, une fois la modification validée
+    private void invalidateWorklist() {
+        TransactionUtils.afterCommit(() -> {
+            worklistGeneration.incrementAndGet();
+            worklist.set(null);
+        });
+    }
+
+    private static void validateWindow(int days) {
+        if (days < 0 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Le nombre de jours doit être compris entre 0 et " + MAX_WINDOW_DAYS);
+        }
+    }
+
+    private static String label(String value) {
+        return value == null || value.isBlank() ? NOT_SPECIFIED : value;
+    }
+
+    private record CachedWorklist(long generation, MaintenanceWorklistResponse worklist) {
     }
-}
\ No newline at end of file
+}
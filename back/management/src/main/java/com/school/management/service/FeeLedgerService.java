@@ -0,0 +1,153 @@
+// service/FeeLedgerService.java
+package com.school.management.service;
+
+import com.school.management.dto.projection.OutstandingBalance;
+import com.school.management.entity.FeeSchedule;
+import com.school.management.entity.Payment;
+import com.school.management.entity.StudentBalance;
+import com.school.management.exception.ResourceNotFoundException;
+import com.school.management.repository.FeeScheduleRepository;
+import com.school.management.repository.StudentBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Barèmes des frais et soldes matérialisés par élève.
+ * Chaque paiement met à jour le solde par une seule requête UPDATE ; les changements
+ * de barème ou d'inscription recalculent les soldes concernés, et un recalcul complet
+ * nocturne corrige les éventuels écarts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class FeeLedgerService {
+
+    private final FeeScheduleRepository feeScheduleRepository;
+    private final StudentBalanceRepository studentBalanceRepository;
+
+    // Barèmes
+
+    public FeeSchedule createFeeSchedule(FeeSchedule feeSchedule) {
+        // Vérifié ici : la contrainte unique laisse passer deux barèmes sans niveau (NULL)
+        if (feeScheduleRepository.existsBySectionAndLevelAndAcademicYear(
+                feeSchedule.getSection(), feeSchedule.getLevel(), feeSchedule.getAcademicYear())) {
+            throw new IllegalArgumentException("Un barème existe déjà pour cette section, ce niveau et cette année");
+        }
+        FeeSchedule saved = feeScheduleRepository.save(feeSchedule);
+        refreshYear(saved.getAcademicYear());
+        return saved;
+    }
+
+    public FeeSchedule updateFeeSchedule(Long id, FeeSchedule update) {
+        FeeSchedule feeSchedule = getFeeScheduleById(id);
+        if (feeScheduleRepository.existsBySectionAndLevelAndAcademicYearAndIdNot(
+                update.getSection(), update.getLevel(), update.getAcademicYear(), id)) {
+            throw new IllegalArgumentException("Un barème existe déjà pour cette section, ce niveau et cette année");
+        }
+        String previousYear = feeSchedule.getAcademicYear();
+
+        feeSchedule.setSection(update.getSection());
+        feeSchedule.setLevel(update.getLevel());
+        feeSchedule.setAcademicYear(update.getAcademicYear());
+        feeSchedule.setAmount(update.getAmount());
+        feeSchedule.setDescription(update.getDescription());
+        FeeSchedule saved = feeScheduleRepository.saveAndFlush(feeSchedule);
+
+        refreshYear(saved.getAcademicYear());
+        if (!saved.getAcademicYear().equals(previousYear)) {
+            refreshYear(previousYear);
+        }
+        return saved;
+    }
+
+    public void deleteFeeSchedule(Long id) {
+        FeeSchedule feeSchedule = getFeeScheduleById(id);
+        feeScheduleRepository.delete(feeSchedule);
+        feeScheduleRepository.flush();
+        refreshYear(feeSchedule.getAcademicYear());
+    }
+
+    @Transactional(readOnly = true)
+    public FeeSchedule getFeeScheduleById(Long id) {
+        return feeScheduleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Barème non trouvé"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<FeeSchedule> getAllFeeSchedules() {
+        return feeScheduleRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public List<FeeSchedule> getFeeSchedulesByAcademicYear(String academicYear) {
+        return feeScheduleRepository.findByAcademicYearOrderBySectionAscLevelAsc(academicYear);
+    }
+
+    // Soldes
+
+    /**
+     * Imputation d'un paiement déjà enregistré (et inséré) dans la transaction courante.
+     */
+    public void paymentRecorded(Payment payment) {
+        int updated = studentBalanceRepository.applyPayment(payment.getStudent().getId(),
+                payment.getAcademicYear(), payment.getAmount(), LocalDateTime.now());
+        if (updated == 0) {
+            // Premier mouvement de l'élève pour l'année du paiement : le solde de cette année
+            // est créé à partir de son barème et des paiements
+            studentBalanceRepository.refreshStudentYear(payment.getStudent().getId(),
+                    payment.getAcademicYear(), LocalDateTime.now());
+        }
+    }
+
+    // Inscription, changement de classe, de section ou d'année
+    public void studentChanged(Long studentId) {
+        studentBalanceRepository.refresh(null, studentId, LocalDateTime.now());
+    }
+
+    public void studentRemoved(Long studentId) {
+        studentBalanceRepository.deleteByStudentId(studentId);
+    }
+
+    public int refreshYear(String academicYear) {
+        return studentBalanceRepository.refresh(academicYear, null, LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OutstandingBalance> getOutstandingBalances(String academicYear, BigDecimal minAmount, Pageable pageable) {
+        // L'ordre est fixé par la requête (reste à payer décroissant) : le tri demandé est ignoré
+        return studentBalanceRepository.findOutstanding(academicYear,
+                minAmount != null ? minAmount : BigDecimal.ZERO,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalOutstanding(String academicYear) {
+        return studentBalanceRepository.getTotalOutstanding(academicYear);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudentBalance> getStudentBalances(Long studentId) {
+        return studentBalanceRepository.findByStudentIdOrderByAcademicYearDesc(studentId);
+    }
+
+    /**
+     * Recalcul complet de tous les soldes (une requête ensembliste), y compris ceux des
+     * années antérieures où l'élève a des paiements.
+     */
+    @Scheduled(cron = "${app.fees.rebuild-cron:0 30 2 * * *}")
+    public void rebuildAll() {
+        int rows = studentBalanceRepository.refresh(null, null, LocalDateTime.now());
+        log.info("Soldes des élèves recalculés ({} lignes)", rows);
+    }
+}
@@ -1,36 +1,54 @@
 // service/GradeService.java
 package com.school.management.service;
 
+import com.school.management.dto.projection.GradeRow;
+import com.school.management.dto.request.GradeBatchCreateRequest;
 import com.school.management.dto.request.GradeCreateRequest;
+import com.school.management.dto.response.CursorPageResponse;
+import com.school.management.dto.response.GradeBatchResponse;
 import com.school.management.dto.response.GradeResponse;
 import com.school.management.entity.Grade;
 import com.school.management.entity.Student;
 import com.school.management.entity.Subject;
 import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.mapper.GradeMapper;
+import com.school.management.repository.GradeArchiveRepository;
 import com.school.management.repository.GradeRepository;
 import com.school.management.repository.StudentRepository;
 import com.school.management.repository.SubjectRepository;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class GradeService {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final GradeRepository gradeRepository;
     private final StudentRepository studentRepository;
     private final SubjectRepository subjectRepository;
     private final GradeMapper gradeMapper;
+    private final GradeArchiveRepository gradeArchiveRepository;
+    private final AcademicYearService academicYearService;
 
     public GradeResponse createGrade(GradeCreateRequest request) {
+        academicYearService.requireOpen(request.getAcademicYear());
         Student student = studentRepository.findById(request.getStudentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
 
@@ -45,9 +63,60 @@ public class GradeService {
         return gradeMapper.toResponse(savedGrade);
     }
 
+    /**
+     * Saisie d'une feuille de notes complète. Les élèves et matières sont vérifiés
+     * avec une requête IN chacun, les lignes valides sont insérées par lots JDBC
+     * et les lignes invalides sont signalées sans bloquer le reste de la feuille.
+     */
+    public GradeBatchResponse createGradesBatch(GradeBatchCreateRequest request) {
+        List<GradeCreateRequest> rows = request.getGrades() != null ? request.getGrades() : List.of();
+        if (rows.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Une feuille de notes ne peut pas dépasser " + MAX_BATCH_SIZE + " lignes");
+        }
+        rows.forEach(row -> applySheetDefaults(row, request));
+
+        Set<Long> studentIds = rows.stream().map(GradeCreateRequest::getStudentId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> subjectIds = rows.stream().map(GradeCreateRequest::getSubjectId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, Subject> subjects = subjectRepository.findAllById(subjectIds).stream()
+                .collect(Collectors.toMap(Subject::getId, Function.identity()));
+        Set<String> closedYears = rows.stream().map(GradeCreateRequest::getAcademicYear)
+                .filter(Objects::nonNull).distinct()
+                .filter(academicYearService::isClosed)
+                .collect(Collectors.toSet());
+
+        GradeBatchResponse response = new GradeBatchResponse();
+        response.setSubmitted(rows.size());
+        List<Grade> grades = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            GradeCreateRequest row = rows.get(i);
+            String error = validateBatchRow(row, students, subjects, closedYears);
+            if (error != null) {
+                response.getErrors().add(new GradeBatchResponse.RowError(i, row.getStudentId(), error));
+                continue;
+            }
+            Grade grade = gradeMapper.toEntity(row);
+            grade.setStudent(students.get(row.getStudentId()));
+            grade.setSubject(subjects.get(row.getSubjectId()));
+            grades.add(grade);
+        }
+
+        List<Grade> savedGrades = gradeRepository.saveAll(grades);
+        response.setCreated(savedGrades.size());
+        response.setGrades(savedGrades.stream()
+                .map(gradeMapper::toResponse)
+                .collect(Collectors.toList()));
+        return response;
+    }
+
     public GradeResponse updateGrade(Long id, GradeCreateRequest request) {
         Grade grade = gradeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Note non trouvée"));
+        academicYearService.requireOpen(request.getAcademicYear());
 
         gradeMapper.updateEntity(grade, request);
 
@@ -63,52 +132,97 @@ public class GradeService {
     }
 
     @Transactional(readOnly = true)
-    public List<GradeResponse> getGradesByStudent(Long studentId) {
-        return gradeRepository.findByStudentId(studentId).stream()
+    public CursorPageResponse<GradeResponse> getGradesPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<GradeRow> rows = after == null
+                ? gradeRepository.findFirstPage(KeysetCursor.limit(size))
+                : gradeRepository.findPageAfter(after.dateKey(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, GradeRow::gradeDate, GradeRow::id, gradeMapper::toResponse,
+                withTotal ? gradeRepository::count : null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeResponse> getGradesByStudent(Long studentId, boolean includeArchived) {
+        Stream<GradeRow> rows = gradeRepository.findRowsByStudentId(studentId).stream();
+        if (includeArchived) {
+            rows = Stream.concat(rows, gradeArchiveRepository.findRowsByStudentId(studentId).stream());
+        }
+        return rows
                 .map(gradeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<GradeResponse> getGradesBySubject(Long subjectId) {
-        return gradeRepository.findBySubjectId(subjectId).stream()
+        return gradeRepository.findRowsBySubjectId(subjectId).stream()
                 .map(gradeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<GradeResponse> getGradesByStudentAndSubject(Long studentId, Long subjectId) {
-        return gradeRepository.findByStudentIdAndSubjectId(studentId, subjectId).stream()
+        return gradeRepository.findRowsByStudentIdAndSubjectId(studentId, subjectId).stream()
                 .map(gradeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public BigDecimal calculateAverageByStudent(Long studentId, String semester) {
-        List<Grade> grades = gradeRepository.findByStudentIdAndSemester(studentId, semester);
-        if (grades.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal sum = grades.stream()
-                .map(Grade::getValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return sum.divide(BigDecimal.valueOf(grades.size()), 2, RoundingMode.HALF_UP);
+        return average(gradeRepository.findValuesByStudentIdAndSemester(studentId, semester));
     }
 
     @Transactional(readOnly = true)
     public BigDecimal calculateAverageBySubject(Long subjectId, String semester) {
-        List<Grade> grades = gradeRepository.findBySubjectIdAndSemester(subjectId, semester);
-        if (grades.isEmpty()) {
+        return average(gradeRepository.findValuesBySubjectIdAndSemester(subjectId, semester));
+    }
+
+    private BigDecimal average(List<BigDecimal> values) {
+        if (values.isEmpty()) {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal sum = grades.stream()
-                .map(Grade::getValue)
+        BigDecimal sum = values.stream()
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        return sum.divide(BigDecimal.valueOf(grades.size()), 2, RoundingMode.HALF_UP);
+        return sum.divide(BigDecimal.valueOf(values.size()), 2, RoundingMode.HALF_UP);
+    }
+
+    private void applySheetDefaults(GradeCreateRequest row, GradeBatchCreateRequest sheet) {
+        if (row.getSubjectId() == null) {
+            row.setSubjectId(sheet.getSubjectId());
+        }
+        if (row.getTerm() == null) {
+            row.setTerm(sheet.getTerm());
+        }
+        if (row.getAcademicYear() == null) {
+            row.setAcademicYear(sheet.getAcademicYear());
+        }
+        if (row.getExamType() == null) {
+            row.setExamType(sheet.getExamType());
+        }
+        if (row.getGradeDate() == null) {
+            row.setGradeDate(sheet.getGradeDate() != null ? sheet.getGradeDate() : LocalDate.now());
+        }
+    }
+
+    private String validateBatchRow(GradeCreateRequest row, Map<Long, Student> students, Map<Long, Subject> subjects,
+                                    Set<String> closedYears) {
+        if (row.getStudentId() == null || !students.containsKey(row.getStudentId())) {
+            return "Élève non trouvé";
+        }
+        if (row.getSubjectId() == null || !subjects.containsKey(row.getSubjectId())) {
+            return "Matière non trouvée";
+        }
+        if (row.getScore() == null || row.getScore() < 0) {
+            return "Note manquante ou invalide";
+        }
+        if (row.getTerm() == null || row.getAcademicYear() == null) {
+            return "Le trimestre et l'année scolaire sont obligatoires";
+        }
+        if (closedYears.contains(row.getAcademicYear())) {
+            return "L'année scolaire " + row.getAcademicYear() + " est clôturée";
+        }
+        return null;
     }
 
     public void deleteGrade(Long id) {
@@ -0,0 +1,82 @@
+// service/JsonArrayWriter.java
+package com.school.management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Écrit une table entière en tableau JSON, directement dans la réponse : les lignes sont
+ * lues par lots (pagination par clé), chacune convertie puis écrite avec JsonGenerator.
+ * La mémoire reste celle d'un lot quelle que soit la taille de la table. Chaque lot a sa
+ * propre transaction courte en lecture seule : un client lent ne garde pas de connexion
+ * du pool pendant tout le téléchargement, et le contexte de persistance (ouvert pour
+ * toute la requête) est vidé après chaque lot.
+ */
+@Component
+public class JsonArrayWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JsonArrayWriter(ObjectMapper objectMapper, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param firstPage premier lot, dans l'ordre de la clé
+     * @param pageAfter lot suivant la dernière ligne écrite
+     * @param toResponse conversion d'une ligne en objet sérialisé
+     */
+    public <R> void write(OutputStream out,
+                          Function<Pageable, List<R>> firstPage,
+                          BiFunction<R, Pageable, List<R>> pageAfter,
+                          Function<R, ?> toResponse) throws IOException {
+        Pageable batch = PageRequest.of(0, BATCH_SIZE);
+        try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(out))) {
+            generator.writeStartArray();
+            List<R> rows = read(() -> firstPage.apply(batch));
+            while (!rows.isEmpty()) {
+                for (R row : rows) {
+                    generator.writeObject(toResponse.apply(row));
+                }
+                generator.flush();
+                if (rows.size() < BATCH_SIZE) {
+                    break;
+                }
+                R last = rows.get(rows.size() - 1);
+                rows = read(() -> pageAfter.apply(last, batch));
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    // Les entités du lot sont détachées avant l'écriture : seul leur état chargé est sérialisé
+    private <R> List<R> read(Supplier<List<R>> query) {
+        return readOnlyTransaction.execute(status -> {
+            List<R> rows = query.get();
+            entityManager.clear();
+            return rows;
+        });
+    }
+}
@@ -0,0 +1,62 @@
+// service/LastLoginRecorder.java
+package com.school.management.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dates de dernière connexion : les connexions sont notées en mémoire (une entrée par
+ * utilisateur, la plus récente l'emporte) puis écrites périodiquement en un seul lot.
+ * Une vague de connexions ne produit ainsi qu'une mise à jour par utilisateur et par
+ * intervalle, hors des transactions de connexion.
+ */
+@Slf4j
+@Component
+public class LastLoginRecorder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.last-login-flush-interval-ms:30000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                batch.add(new Object[]{Timestamp.valueOf(loginAt), userId});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE users SET last_login = ? WHERE id = ?", batch);
+        } catch (DataAccessException e) {
+            // Remises en attente pour le prochain passage
+            batch.forEach(row -> record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime()));
+            log.warn("Enregistrement des dernières connexions reporté : {}", e.getMessage());
+            return;
+        }
+        log.debug("Dernières connexions enregistrées pour {} utilisateurs", batch.size());
+    }
+}
@@ -0,0 +1,93 @@
+// service/LoginThrottle.java
+package com.school.management.service;
+
+import com.school.management.exception.TooManyRequestsException;
+import com.school.management.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation des tentatives de connexion, par nom d'utilisateur et par adresse IP,
+ * avant tout calcul BCrypt. Chaque tentative prend un jeton dans les deux seaux ; une
+ * connexion réussie les rend, seules les tentatives échouées épuisent donc les seaux.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Map<String, TokenBucket> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+
+    private final int usernameCapacity;
+    private final long usernameRefillNanos;
+    private final int ipCapacity;
+    private final long ipRefillNanos;
+
+    public LoginThrottle(@Value("${app.security.login.username-burst:5}") int usernameCapacity,
+                         @Value("${app.security.login.username-refill:1m}") Duration usernameRefill,
+                         @Value("${app.security.login.ip-burst:30}") int ipCapacity,
+                         @Value("${app.security.login.ip-refill:2s}") Duration ipRefill) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillNanos = usernameRefill.toNanos();
+        this.ipCapacity = ipCapacity;
+        this.ipRefillNanos = ipRefill.toNanos();
+    }
+
+    /**
+     * Réserve une tentative ; à défaut, TooManyRequestsException (429) avec le délai
+     * d'attente. Le jeton pris sur l'IP est rendu si le nom d'utilisateur est bloqué.
+     */
+    public void acquire(String username, String clientIp) {
+        long now = System.nanoTime();
+        TokenBucket ipBucket = ipBuckets.computeIfAbsent(clientIp,
+                key -> new TokenBucket(ipCapacity, ipRefillNanos, now));
+        long ipWait = ipBucket.tryConsume(now);
+        if (ipWait > 0) {
+            throw tooManyAttempts(ipWait);
+        }
+
+        TokenBucket usernameBucket = usernameBuckets.computeIfAbsent(key(username),
+                key -> new TokenBucket(usernameCapacity, usernameRefillNanos, now));
+        long usernameWait = usernameBucket.tryConsume(now);
+        if (usernameWait > 0) {
+            ipBucket.refund(now);
+            throw tooManyAttempts(usernameWait);
+        }
+    }
+
+    public void succeeded(String username, String clientIp) {
+        long now = System.nanoTime();
+        TokenBucket usernameBucket = usernameBuckets.get(key(username));
+        if (usernameBucket != null) {
+            usernameBucket.refund(now);
+        }
+        TokenBucket ipBucket = ipBuckets.get(clientIp);
+        if (ipBucket != null) {
+            ipBucket.refund(now);
+        }
+    }
+
+    // Seaux redevenus pleins : retirés pour borner la mémoire
+    @Scheduled(fixedDelayString = "${app.security.login.cleanup-interval-ms:60000}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        usernameBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static String key(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static TooManyRequestsException tooManyAttempts(long waitNanos) {
+        int retryAfter = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException(
+                "Trop de tentatives de connexion, veuillez réessayer dans " + retryAfter + " s", retryAfter);
+    }
+}
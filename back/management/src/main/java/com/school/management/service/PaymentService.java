@@ -1,21 +1,29 @@
 // service/PaymentService.java
 package com.school.management.service;
 
+import com.school.management.dto.projection.PaymentRow;
 import com.school.management.dto.request.PaymentCreateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.PaymentResponse;
 import com.school.management.entity.Payment;
 import com.school.management.entity.Student;
 import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.mapper.PaymentMapper;
+import com.school.management.repository.PaymentArchiveRepository;
 import com.school.management.repository.PaymentRepository;
 import com.school.management.repository.StudentRepository;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,8 +33,13 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final StudentRepository studentRepository;
     private final PaymentMapper paymentMapper;
+    private final FeeLedgerService feeLedgerService;
+    private final PaymentArchiveRepository paymentArchiveRepository;
+    private final AcademicYearService academicYearService;
+    private final JsonArrayWriter jsonArrayWriter;
 
     public PaymentResponse createPayment(PaymentCreateRequest request) {
+        academicYearService.requireOpen(request.getAcademicYear());
         Student student = studentRepository.findById(request.getStudentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
 
@@ -34,23 +47,47 @@ public class PaymentService {
         payment.setStudent(student);
 
         Payment savedPayment = paymentRepository.save(payment);
+        feeLedgerService.paymentRecorded(savedPayment);
         return paymentMapper.toResponse(savedPayment);
     }
 
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getPaymentsByStudent(Long studentId) {
-        return paymentRepository.findByStudentId(studentId).stream()
+    public List<PaymentResponse> getPaymentsByStudent(Long studentId, boolean includeArchived) {
+        Stream<PaymentRow> rows = paymentRepository.findRowsByStudentId(studentId).stream();
+        if (includeArchived) {
+            rows = Stream.concat(rows, paymentArchiveRepository.findRowsByStudentId(studentId).stream());
+        }
+        return rows
                 .map(paymentMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<PaymentResponse> getAllPayments() {
-        return paymentRepository.findAll().stream()
+        return paymentRepository.findAllRows().stream()
                 .map(paymentMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // Tous les paiements en flux JSON, plus récents d'abord ; une transaction par lot
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeAllPayments(OutputStream out) throws IOException {
+        jsonArrayWriter.write(out,
+                paymentRepository::findFirstPage,
+                (last, batch) -> paymentRepository.findPageAfter(last.paymentDate(), last.id(), batch),
+                paymentMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<PaymentResponse> getPaymentsPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<PaymentRow> rows = after == null
+                ? paymentRepository.findFirstPage(KeysetCursor.limit(size))
+                : paymentRepository.findPageAfter(after.dateKey(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, PaymentRow::paymentDate, PaymentRow::id, paymentMapper::toResponse,
+                withTotal ? paymentRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public BigDecimal getTotalPaymentsByStudent(Long studentId, String academicYear) {
         BigDecimal total = paymentRepository.getTotalPaymentsByStudentAndYear(studentId, academicYear);
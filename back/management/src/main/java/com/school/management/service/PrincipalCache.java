@@ -0,0 +1,116 @@
+// service/PrincipalCache.java
+package com.school.management.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.school.management.dto.projection.UserPrincipal;
+import com.school.management.repository.UserRepository;
+import com.school.management.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Utilisateurs authentifiés en mémoire, par id : chaque requête est autorisée sans
+ * lecture de la table users. Les modifications de compte (UserService) retirent
+ * l'entrée dès leur validation ; la durée de vie ne sert que de filet de sécurité
+ * pour les écritures faites hors de l'application. Les comptes supprimés sont
+ * mémorisés comme absents.
+ * <p>
+ * Le chargement ne se fait pas dans le calcul de Caffeine, qui tient le verrou
+ * (synchronized) d'une case de la table : sous threads virtuels, la requête SQL y
+ * bloquerait le thread porteur. Le cache reçoit un résultat à venir, complété ensuite
+ * par le thread appelant ; les requêtes concurrentes pour le même id l'attendent.
+ * <p>
+ * Le chargement lit la base principale : juste après une invalidation, la réplique
+ * peut encore renvoyer l'ancien état du compte, qui resterait en cache jusqu'à expiration.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryRead;
+    private final AsyncCache<Long, Optional<UserPrincipal>> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.security.principal-cache.max-entries:10000}") long maxEntries,
+                          @Value("${app.security.principal-cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        // Transaction propre, non marquée lecture seule : la connexion vient de la base principale
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<UserPrincipal> get(Long userId) {
+        CompletableFuture<Optional<UserPrincipal>> loading = new CompletableFuture<>();
+        CompletableFuture<Optional<UserPrincipal>> result = cache.get(userId, (id, executor) -> loading);
+        if (result == loading) {
+            try {
+                loading.complete(primaryRead.execute(status -> userRepository.findPrincipalById(userId)));
+            } catch (Throwable e) {
+                // Toute erreur termine le résultat (sinon les requêtes en attente resteraient
+                // bloquées) ; un résultat en échec est retiré du cache : la requête suivante recharge
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Utilisateur d'un jeton émis à issuedAt, s'il est toujours valable : compte existant
+     * et actif, pas de changement de mot de passe depuis l'émission (à la seconde près).
+     */
+    public Optional<UserPrincipal> getValid(Long userId, Instant issuedAt) {
+        return get(userId)
+                .filter(principal -> Boolean.TRUE.equals(principal.active()))
+                .filter(principal -> principal.passwordChangedAt() == null || issuedAt == null
+                        || !issuedAt.isBefore(principal.passwordChangedAt().atZone(ZoneId.systemDefault())
+                        .toInstant().truncatedTo(ChronoUnit.SECONDS)));
+    }
+
+    // Après validation : un chargement concurrent ne peut pas remettre l'ancien état en cache
+    public void invalidate(Long userId) {
+        TransactionUtils.afterCommit(() -> cache.synchronous().invalidate(userId));
+    }
+
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRatio", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
@@ -1,27 +1,39 @@
 // service/PurchaseService.java - Version améliorée
 package com.school.management.service;
 
+import com.school.management.dto.projection.MonthlyPurchaseTotal;
+import com.school.management.dto.projection.PurchaseTotal;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Purchase;
 import com.school.management.exception.ResourceNotFoundException;
+import com.school.management.repository.PurchaseDailyTotalRepository;
 import com.school.management.repository.PurchaseRepository;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PurchaseService {
 
+    private static final String NOT_SPECIFIED = "Non renseigné";
+
     private final PurchaseRepository purchaseRepository;
+    private final PurchaseDailyTotalRepository dailyTotalRepository;
 
     public Purchase createPurchase(Purchase purchase) {
         // Validation
@@ -34,7 +46,9 @@ public class PurchaseService {
         }
 
         // Le calcul du total se fait automatiquement via @PrePersist
-        return purchaseRepository.save(purchase);
+        Purchase savedPurchase = purchaseRepository.save(purchase);
+        addToDailyTotals(savedPurchase, 1);
+        return savedPurchase;
     }
 
     public Purchase updatePurchase(Long id, Purchase purchaseUpdate) {
@@ -50,6 +64,9 @@ public class PurchaseService {
             throw new IllegalArgumentException("Un achat avec ce numéro de facture existe déjà");
         }
 
+        // Retrait de l'ancien montant du cumul avant modification
+        addToDailyTotals(purchase, -1);
+
         // Mise à jour des champs
         purchase.setItemName(purchaseUpdate.getItemName());
         purchase.setDescription(purchaseUpdate.getDescription());
@@ -60,7 +77,9 @@ public class PurchaseService {
         purchase.setInvoiceNumber(purchaseUpdate.getInvoiceNumber());
         purchase.setPurchaseDate(purchaseUpdate.getPurchaseDate());
 
-        // Le total sera recalculé automatiquement via @PreUpdate
+        // @PreUpdate n'intervient qu'au flush : total recalculé ici pour le cumul
+        purchase.calculateTotal();
+        addToDailyTotals(purchase, 1);
         return purchaseRepository.save(purchase);
     }
 
@@ -84,6 +103,16 @@ public class PurchaseService {
         return purchaseRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Purchase> getPurchasesPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Purchase> rows = after == null
+                ? purchaseRepository.findAllByOrderByPurchaseDateDescIdDesc(KeysetCursor.limit(size))
+                : purchaseRepository.findPageAfter(after.dateKey(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, Purchase::getPurchaseDate, Purchase::getId, Function.identity(),
+                withTotal ? purchaseRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public Page<Purchase> getPurchasesByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         validateDateRange(startDate, endDate);
@@ -145,38 +174,73 @@ public class PurchaseService {
 
     @Transactional(readOnly = true)
     public Map<String, BigDecimal> getPurchasesSummaryByCategory(LocalDate startDate, LocalDate endDate) {
-        List<Purchase> purchases = getPurchasesByDateRange(startDate, endDate);
-        return purchases.stream()
-                .collect(Collectors.groupingBy(
-                        Purchase::getCategory,
-                        Collectors.mapping(
-                                Purchase::getTotalAmount,
-                                Collectors.reducing(BigDecimal.ZERO, BigDecimal::add)
-                        )
-                ));
+        validateDateRange(startDate, endDate);
+        return toSummary(purchaseRepository.sumByCategory(startDate, endDate));
     }
 
     @Transactional(readOnly = true)
     public Map<String, BigDecimal> getPurchasesSummaryBySupplier(LocalDate startDate, LocalDate endDate) {
-        List<Purchase> purchases = getPurchasesByDateRange(startDate, endDate);
-        return purchases.stream()
-                .collect(Collectors.groupingBy(
-                        Purchase::getSupplier,
-                        Collectors.mapping(
-                                Purchase::getTotalAmount,
-                                Collectors.reducing(BigDecimal.ZERO, BigDecimal::add)
-                        )
-                ));
+        validateDateRange(startDate, endDate);
+        return toSummary(purchaseRepository.sumBySupplier(startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlyPurchaseTotal> getMonthlySummary(LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        return purchaseRepository.sumByMonth(startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlyPurchaseTotal> getMonthlySummaryByCategory(LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        return purchaseRepository.sumByCategoryAndMonth(startDate, endDate).stream()
+                .map(row -> new MonthlyPurchaseTotal(row.year(), row.month(), label(row.category()),
+                        row.total(), row.purchaseCount()))
+                .toList();
+    }
+
+    /**
+     * Recalcul complet du cumul journalier, filet de sécurité contre les écritures
+     * faites hors du service (imports SQL, corrections manuelles).
+     */
+    @Scheduled(cron = "${app.purchases.rollup-rebuild-cron:0 45 2 * * *}")
+    public void rebuildDailyTotals() {
+        dailyTotalRepository.deleteAllTotals();
+        int rows = dailyTotalRepository.rebuild();
+        log.info("Cumul journalier des achats recalculé ({} lignes)", rows);
     }
 
     public void deletePurchase(Long id) {
-        if (!purchaseRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Achat non trouvé");
-        }
-        purchaseRepository.deleteById(id);
+        Purchase purchase = purchaseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Achat non trouvé"));
+        addToDailyTotals(purchase, -1);
+        purchaseRepository.delete(purchase);
     }
 
     // Méthodes utilitaires privées
+
+    // sign = 1 : ajout de l'achat au cumul de son jour ; -1 : retrait
+    private void addToDailyTotals(Purchase purchase, int sign) {
+        dailyTotalRepository.add(purchase.getPurchaseDate(),
+                purchase.getCategory() != null ? purchase.getCategory() : "",
+                purchase.getSupplier() != null ? purchase.getSupplier() : "",
+                sign > 0 ? purchase.getTotalAmount() : purchase.getTotalAmount().negate(),
+                sign);
+        if (sign < 0) {
+            dailyTotalRepository.deleteEmpty();
+        }
+    }
+
+    private static Map<String, BigDecimal> toSummary(List<PurchaseTotal> totals) {
+        Map<String, BigDecimal> summary = new LinkedHashMap<>();
+        totals.forEach(total -> summary.merge(label(total.label()), total.total(), BigDecimal::add));
+        return summary;
+    }
+
+    private static String label(String value) {
+        return value == null || value.isEmpty() ? NOT_SPECIFIED : value;
+    }
+
     private void validatePurchase(Purchase purchase) {
         if (purchase.getItemName() == null || purchase.getItemName().trim().isEmpty()) {
             throw new IllegalArgumentException("Le nom de l'article est obligatoire");
@@ -0,0 +1,65 @@
+// service/ReferenceCacheService.java
+package com.school.management.service;
+
+import com.school.management.config.ReferenceCacheConfig;
+import com.school.management.util.TransactionUtils;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Invalidation et statistiques du cache de second niveau des données de référence.
+ * Hibernate tient à jour les entités en cache, mais pas les collections du côté inverse
+ * (mappedBy) ni les recherches mises en cache : elles sont vidées après chaque écriture
+ * sur une matière, une classe ou un enseignant.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void referenceDataChanged() {
+        TransactionUtils.afterCommit(() -> {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            cache.evictCollectionData();
+            cache.evictQueryRegion(ReferenceCacheConfig.LOOKUP_REGION);
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entities", regionStatistics(
+                statistics.getCacheRegionStatistics(ReferenceCacheConfig.ENTITY_REGION)));
+        result.put("lookups", regionStatistics(
+                statistics.getCacheRegionStatistics(ReferenceCacheConfig.LOOKUP_REGION)));
+        result.put("secondLevelHitRatio", ratio(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount()));
+        result.put("queryHitRatio", ratio(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount()));
+        return result;
+    }
+
+    // Région pas encore utilisée depuis le démarrage : compteurs à zéro
+    private static Map<String, Object> regionStatistics(CacheRegionStatistics region) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hits", region != null ? region.getHitCount() : 0L);
+        result.put("misses", region != null ? region.getMissCount() : 0L);
+        result.put("puts", region != null ? region.getPutCount() : 0L);
+        return result;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : Math.round(hits * 1000.0 / total) / 1000.0;
+    }
+}
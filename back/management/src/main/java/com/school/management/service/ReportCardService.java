@@ -0,0 +1,177 @@
+// service/ReportCardService.java
+package com.school.management.service;
+
+import com.school.management.dto.projection.GradeAggregate;
+import com.school.management.dto.response.ClassReportCardsResponse;
+import com.school.management.dto.response.ReportCardResponse;
+import com.school.management.dto.response.SubjectAverageResponse;
+import com.school.management.entity.Student;
+import com.school.management.exception.ResourceNotFoundException;
+import com.school.management.repository.ClassRepository;
+import com.school.management.repository.GradeRepository;
+import com.school.management.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Calcul des bulletins : moyennes par matière, moyenne générale pondérée par
+ * les coefficients des matières et rang dans la classe.
+ * Les notes sont agrégées par la base (une requête groupée par classe), seul le
+ * classement est fait en mémoire.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReportCardService {
+
+    private static final int SCALE = 2;
+    private static final int INTERNAL_SCALE = 6;
+
+    private final GradeRepository gradeRepository;
+    private final ClassRepository classRepository;
+    private final StudentRepository studentRepository;
+
+    public ClassReportCardsResponse getClassReportCards(Long classId, String semester, String academicYear) {
+        if (!classRepository.existsById(classId)) {
+            throw new ResourceNotFoundException("Classe non trouvée");
+        }
+
+        List<ReportCardResponse> reportCards =
+                buildReportCards(gradeRepository.aggregateByClass(classId, semester, academicYear), semester, academicYear);
+        rank(reportCards);
+
+        ClassReportCardsResponse response = new ClassReportCardsResponse();
+        response.setClassId(classId);
+        response.setSemester(semester);
+        response.setAcademicYear(academicYear);
+        response.setReportCards(reportCards);
+
+        List<BigDecimal> averages = reportCards.stream()
+                .map(ReportCardResponse::getGeneralAverage)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!averages.isEmpty()) {
+            BigDecimal sum = averages.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            response.setClassAverage(sum.divide(BigDecimal.valueOf(averages.size()), SCALE, RoundingMode.HALF_UP));
+            response.setHighestAverage(averages.stream().max(Comparator.naturalOrder()).orElse(null));
+            response.setLowestAverage(averages.stream().min(Comparator.naturalOrder()).orElse(null));
+        }
+        return response;
+    }
+
+    public ReportCardResponse getStudentReportCard(Long studentId, String semester, String academicYear) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
+
+        // Le rang nécessite la classe entière ; sans classe, on calcule le bulletin seul
+        if (student.getStudentClass() == null) {
+            List<ReportCardResponse> reportCards = buildReportCards(
+                    gradeRepository.aggregateByStudent(studentId, semester, academicYear), semester, academicYear);
+            return reportCards.isEmpty() ? emptyReportCard(student, semester, academicYear) : reportCards.get(0);
+        }
+
+        return getClassReportCards(student.getStudentClass().getId(), semester, academicYear)
+                .getReportCards().stream()
+                .filter(card -> card.getStudentId().equals(studentId))
+                .findFirst()
+                .orElseGet(() -> emptyReportCard(student, semester, academicYear));
+    }
+
+    public BigDecimal calculateWeightedAverage(Long studentId, String semester, String academicYear) {
+        List<ReportCardResponse> reportCards = buildReportCards(
+                gradeRepository.aggregateByStudent(studentId, semester, academicYear), semester, academicYear);
+        if (reportCards.isEmpty() || reportCards.get(0).getGeneralAverage() == null) {
+            return BigDecimal.ZERO;
+        }
+        return reportCards.get(0).getGeneralAverage();
+    }
+
+    // Regroupe les lignes agrégées par élève et calcule les moyennes
+    private List<ReportCardResponse> buildReportCards(List<GradeAggregate> rows, String semester, String academicYear) {
+        Map<Long, ReportCardResponse> cards = new LinkedHashMap<>();
+        Map<Long, BigDecimal> weightedSums = new LinkedHashMap<>();
+
+        for (GradeAggregate row : rows) {
+            ReportCardResponse card = cards.computeIfAbsent(row.studentId(), id -> {
+                ReportCardResponse created = new ReportCardResponse();
+                created.setStudentId(id);
+                created.setStudentName(row.firstName() + " " + row.lastName());
+                created.setSemester(semester);
+                created.setAcademicYear(academicYear);
+                created.setTotalCoefficients(0);
+                return created;
+            });
+
+            if (row.subjectId() == null || row.count() == null || row.count() == 0) {
+                continue;
+            }
+
+            int coefficient = row.coefficient() != null ? row.coefficient() : 1;
+            BigDecimal average = row.sum().divide(BigDecimal.valueOf(row.count()), INTERNAL_SCALE, RoundingMode.HALF_UP);
+
+            SubjectAverageResponse subject = new SubjectAverageResponse();
+            subject.setSubjectId(row.subjectId());
+            subject.setSubjectName(row.subjectName());
+            subject.setCoefficient(coefficient);
+            subject.setGradeCount(row.count());
+            subject.setAverage(average.setScale(SCALE, RoundingMode.HALF_UP));
+            card.getSubjects().add(subject);
+
+            card.setTotalCoefficients(card.getTotalCoefficients() + coefficient);
+            weightedSums.merge(row.studentId(), average.multiply(BigDecimal.valueOf(coefficient)), BigDecimal::add);
+        }
+
+        for (ReportCardResponse card : cards.values()) {
+            card.getSubjects().sort(Comparator.comparing(SubjectAverageResponse::getSubjectName,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+            BigDecimal weightedSum = weightedSums.get(card.getStudentId());
+            if (weightedSum != null && card.getTotalCoefficients() > 0) {
+                card.setGeneralAverage(weightedSum.divide(
+                        BigDecimal.valueOf(card.getTotalCoefficients()), SCALE, RoundingMode.HALF_UP));
+            }
+        }
+        return new ArrayList<>(cards.values());
+    }
+
+    // Classement par moyenne décroissante ; les ex aequo partagent le même rang
+    private void rank(List<ReportCardResponse> reportCards) {
+        reportCards.sort(Comparator.comparing(ReportCardResponse::getGeneralAverage,
+                        Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(ReportCardResponse::getStudentName));
+
+        int classSize = reportCards.size();
+        BigDecimal previous = null;
+        int previousRank = 0;
+        for (int i = 0; i < reportCards.size(); i++) {
+            ReportCardResponse card = reportCards.get(i);
+            card.setClassSize(classSize);
+            if (card.getGeneralAverage() == null) {
+                continue;
+            }
+            int rank = card.getGeneralAverage().equals(previous) ? previousRank : i + 1;
+            card.setRank(rank);
+            previous = card.getGeneralAverage();
+            previousRank = rank;
+        }
+    }
+
+    private ReportCardResponse emptyReportCard(Student student, String semester, String academicYear) {
+        ReportCardResponse card = new ReportCardResponse();
+        card.setStudentId(student.getId());
+        card.setStudentName(student.getFirstName() + " " + student.getLastName());
+        card.setSemester(semester);
+        card.setAcademicYear(academicYear);
+        card.setTotalCoefficients(0);
+        return card;
+    }
+}
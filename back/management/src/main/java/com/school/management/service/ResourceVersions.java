@@ -0,0 +1,38 @@
+// service/ResourceVersions.java
+package com.school.management.service;
+
+import com.school.management.util.TransactionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Numéros de version des listes servies par l'API, incrémentés par les services après
+ * chaque écriture validée. Ils donnent l'ETag des réponses (ConditionalGetAspect)
+ * sans relire la base ni hacher le corps. Le préfixe de démarrage invalide les ETags
+ * émis avant un redémarrage ; les versions ne sont pas partagées entre instances.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        STUDENTS, CLASSES, SUBJECTS, TEACHERS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLongArray versions = new AtomicLongArray(Resource.values().length);
+
+    // Après validation : une lecture concurrente ne peut pas associer l'ancien contenu à la nouvelle version
+    public void changed(Resource resource) {
+        TransactionUtils.afterCommit(() -> versions.incrementAndGet(resource.ordinal()));
+    }
+
+    /** ETag faible d'une réponse construite à partir des ressources données. */
+    public String etag(Resource... resources) {
+        StringBuilder etag = new StringBuilder("W/\"").append(epoch);
+        for (Resource resource : resources) {
+            etag.append('-').append(versions.get(resource.ordinal()));
+        }
+        return etag.append('"').toString();
+    }
+}
@@ -1,10 +1,12 @@
 // service/StaffService.java
 package com.school.management.service;
 
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Staff;
 import com.school.management.entity.enums.UserRole;
 import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.repository.StaffRepository;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -19,9 +22,14 @@ import java.util.List;
 public class StaffService {
 
     private final StaffRepository staffRepository;
+    private final PrincipalCache principalCache;
 
     public Staff createStaff(Staff staff) {
-        return staffRepository.save(staff);
+        Staff savedStaff = staffRepository.save(staff);
+        if (savedStaff.getUser() != null) {
+            principalCache.invalidate(savedStaff.getUser().getId()); // fiche liée au compte
+        }
+        return savedStaff;
     }
 
     public Staff updateStaff(Long id, Staff staffUpdate) {
@@ -55,6 +63,16 @@ public class StaffService {
         return staffRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Staff> getStaffPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Staff> rows = after == null
+                ? staffRepository.findAllByOrderByLastNameAscIdAsc(KeysetCursor.limit(size))
+                : staffRepository.findPageAfter(after.key(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, Staff::getLastName, Staff::getId, Function.identity(),
+                withTotal ? staffRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public Page<Staff> getStaffBySearch(String search, Pageable pageable) {
         return staffRepository.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
@@ -83,9 +101,11 @@ public class StaffService {
     }
 
     public void deleteStaff(Long id) {
-        if (!staffRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Personnel non trouvé");
+        Staff staff = staffRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Personnel non trouvé"));
+        if (staff.getUser() != null) {
+            principalCache.invalidate(staff.getUser().getId());
         }
-        staffRepository.deleteById(id);
+        staffRepository.delete(staff);
     }
 }
\ No newline at end of file
@@ -2,17 +2,33 @@ package com.school.management.service;
 
 // src/main/java/com/school/management/service/StatisticsService.java
 
+import com.school.management.entity.Class;
+import com.school.management.entity.Student;
+import com.school.management.entity.enums.Language;
 import com.school.management.entity.enums.Section;
 import com.school.management.repository.ClassRepository;
 import com.school.management.repository.StudentRepository;
 import com.school.management.repository.SubjectRepository;
 import com.school.management.repository.TeacherRepository;
+import com.school.management.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Compteurs du tableau de bord maintenus en mémoire.
+ * Les services mettent à jour les compteurs après chaque commit ; une réconciliation
+ * périodique avec la base corrige les éventuels écarts (rollback, écriture concurrente, etc.).
+ */
+@Slf4j
 @Service
 public class StatisticsService {
 
@@ -21,6 +37,12 @@ public class StatisticsService {
     private final TeacherRepository teacherRepository;
     private final SubjectRepository subjectRepository;
 
+    private volatile Counters students = new Counters();
+    private volatile Counters classes = new Counters();
+    private final AtomicLong totalTeachers = new AtomicLong();
+    private final AtomicLong totalSubjects = new AtomicLong();
+    private volatile LocalDateTime lastReconciledAt;
+
     public StatisticsService(
             ClassRepository classRepository,
             StudentRepository studentRepository,
@@ -32,20 +54,188 @@ public class StatisticsService {
         this.subjectRepository = subjectRepository;
     }
 
-    @Transactional(readOnly = true)
     public Map<String, Object> getStatistics() {
+        if (lastReconciledAt == null) {
+            reconcile();
+        }
+
+        Counters currentStudents = students;
+        Counters currentClasses = classes;
+
         Map<String, Object> statistics = new HashMap<>();
-        statistics.put("totalClasses", classRepository.count());
-        statistics.put("totalStudents", studentRepository.count());
-        statistics.put("totalTeachers", teacherRepository.count());
-        statistics.put("totalSubjects", subjectRepository.count());
+        statistics.put("totalClasses", currentClasses.total.get());
+        statistics.put("totalStudents", currentStudents.total.get());
+        statistics.put("totalTeachers", totalTeachers.get());
+        statistics.put("totalSubjects", totalSubjects.get());
 
         Map<String, Long> classesBySection = new HashMap<>();
-        classesBySection.put("creche", classRepository.findBySection(Section.CRECHE).stream().count());
-        classesBySection.put("maternelle", classRepository.findBySection(Section.MATERNELLE).stream().count());
-        classesBySection.put("primaire", classRepository.findBySection(Section.PRIMAIRE).stream().count());
+        for (Section section : Section.values()) {
+            classesBySection.put(section.name().toLowerCase(), currentClasses.count(section));
+        }
         statistics.put("classesBySection", classesBySection);
 
+        Map<String, Long> studentsBySection = new HashMap<>();
+        for (Section section : Section.values()) {
+            studentsBySection.put(section.name().toLowerCase(), currentStudents.count(section));
+        }
+        statistics.put("studentsBySection", studentsBySection);
+
+        statistics.put("classesByLanguage", currentClasses.languageSnapshot());
+        statistics.put("studentsByLanguage", currentStudents.languageSnapshot());
+        statistics.put("classesByAcademicYear", currentClasses.academicYearSnapshot());
+        statistics.put("studentsByAcademicYear", currentStudents.academicYearSnapshot());
+        statistics.put("lastReconciledAt", lastReconciledAt);
+
         return statistics;
     }
-}
\ No newline at end of file
+
+    // Mises à jour incrémentales, appliquées uniquement après le commit de la transaction appelante
+
+    public void studentAdded(Student student) {
+        Dimensions dimensions = Dimensions.of(student);
+        TransactionUtils.afterCommit(() -> students.add(dimensions, 1));
+    }
+
+    public void studentRemoved(Student student) {
+        Dimensions dimensions = Dimensions.of(student);
+        TransactionUtils.afterCommit(() -> students.add(dimensions, -1));
+    }
+
+    public void studentMoved(Dimensions before, Student after) {
+        Dimensions dimensions = Dimensions.of(after);
+        if (before.equals(dimensions)) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> students.move(before, dimensions));
+    }
+
+    public void classAdded(Class classEntity) {
+        Dimensions dimensions = Dimensions.of(classEntity);
+        TransactionUtils.afterCommit(() -> classes.add(dimensions, 1));
+    }
+
+    public void classRemoved(Class classEntity) {
+        Dimensions dimensions = Dimensions.of(classEntity);
+        TransactionUtils.afterCommit(() -> classes.add(dimensions, -1));
+    }
+
+    public void classMoved(Dimensions before, Class after) {
+        Dimensions dimensions = Dimensions.of(after);
+        if (before.equals(dimensions)) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> classes.move(before, dimensions));
+    }
+
+    public void teacherAdded() {
+        TransactionUtils.afterCommit(totalTeachers::incrementAndGet);
+    }
+
+    public void teacherRemoved() {
+        TransactionUtils.afterCommit(totalTeachers::decrementAndGet);
+    }
+
+    public void subjectAdded() {
+        TransactionUtils.afterCommit(totalSubjects::incrementAndGet);
+    }
+
+    public void subjectRemoved() {
+        TransactionUtils.afterCommit(totalSubjects::decrementAndGet);
+    }
+
+    /**
+     * Recalcule tous les compteurs depuis la base (une requête groupée par entité)
+     * et remplace l'état en mémoire.
+     */
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval-ms:300000}")
+    // Pas en lecture seule : la réplique, en retard, ramènerait les compteurs à un état passé
+    @Transactional
+    public void reconcile() {
+        Counters freshStudents = Counters.from(studentRepository.countGroupedBySectionLanguageAndYear());
+        Counters freshClasses = Counters.from(classRepository.countGroupedBySectionLanguageAndYear());
+        long teachers = teacherRepository.count();
+        long subjects = subjectRepository.count();
+
+        if (lastReconciledAt != null && (freshStudents.total.get() != students.total.get()
+                || freshClasses.total.get() != classes.total.get())) {
+            log.info("Écart corrigé sur les compteurs du tableau de bord (élèves {} -> {}, classes {} -> {})",
+                    students.total.get(), freshStudents.total.get(),
+                    classes.total.get(), freshClasses.total.get());
+        }
+
+        students = freshStudents;
+        classes = freshClasses;
+        totalTeachers.set(teachers);
+        totalSubjects.set(subjects);
+        lastReconciledAt = LocalDateTime.now();
+    }
+
+    /**
+     * Clés de ventilation d'un élève ou d'une classe.
+     */
+    public record Dimensions(Section section, Language language, String academicYear) {
+
+        public static Dimensions of(Student student) {
+            return new Dimensions(student.getSection(), student.getLanguage(), student.getAcademicYear());
+        }
+
+        public static Dimensions of(Class classEntity) {
+            return new Dimensions(classEntity.getSection(), classEntity.getLanguage(), classEntity.getAcademicYear());
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong total = new AtomicLong();
+        private final Map<Section, AtomicLong> bySection = new ConcurrentHashMap<>();
+        private final Map<Language, AtomicLong> byLanguage = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> byAcademicYear = new ConcurrentHashMap<>();
+
+        static Counters from(List<Object[]> rows) {
+            Counters counters = new Counters();
+            for (Object[] row : rows) {
+                Dimensions dimensions = new Dimensions((Section) row[0], (Language) row[1], (String) row[2]);
+                counters.add(dimensions, ((Number) row[3]).longValue());
+            }
+            return counters;
+        }
+
+        void add(Dimensions dimensions, long delta) {
+            total.addAndGet(delta);
+            increment(bySection, dimensions.section(), delta);
+            increment(byLanguage, dimensions.language(), delta);
+            increment(byAcademicYear, dimensions.academicYear(), delta);
+        }
+
+        void move(Dimensions from, Dimensions to) {
+            add(from, -1);
+            add(to, 1);
+        }
+
+        long count(Section section) {
+            AtomicLong value = bySection.get(section);
+            return value != null ? value.get() : 0L;
+        }
+
+        Map<String, Long> languageSnapshot() {
+            Map<String, Long> snapshot = new HashMap<>();
+            byLanguage.forEach((language, value) -> snapshot.put(language.name().toLowerCase(), value.get()));
+            return snapshot;
+        }
+
+        Map<String, Long> academicYearSnapshot() {
+            Map<String, Long> snapshot = new HashMap<>();
+            byAcademicYear.forEach((year, value) -> {
+                if (value.get() != 0) {
+                    snapshot.put(year, value.get());
+                }
+            });
+            return snapshot;
+        }
+
+        private static <K> void increment(Map<K, AtomicLong> map, K key, long delta) {
+            if (key != null) {
+                map.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 // service/StudentService.java
 package com.school.management.service;
 
+import com.school.management.dto.projection.StudentRow;
 import com.school.management.dto.request.StudentCreateRequest;
 import com.school.management.dto.request.StudentUpdateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.StudentResponse;
 import com.school.management.entity.Class;
 import com.school.management.entity.Student;
@@ -12,13 +14,23 @@ import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.mapper.StudentMapper;
 import com.school.management.repository.ClassRepository;
 import com.school.management.repository.StudentRepository;
+import com.school.management.search.SearchIndexService;
+import com.school.management.service.ResourceVersions.Resource;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +41,11 @@ public class StudentService {
     private final StudentRepository studentRepository;
     private final ClassRepository classRepository;
     private final StudentMapper studentMapper;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
+    private final FeeLedgerService feeLedgerService;
+    private final ResourceVersions resourceVersions;
+    private final JsonArrayWriter jsonArrayWriter;
 
     public StudentResponse createStudent(StudentCreateRequest request) {
         Student student = studentMapper.toEntity(request);
@@ -40,6 +57,10 @@ public class StudentService {
         }
 
         Student savedStudent = studentRepository.save(student);
+        statisticsService.studentAdded(savedStudent);
+        searchIndexService.indexStudent(savedStudent);
+        resourceVersions.changed(Resource.STUDENTS);
+        feeLedgerService.studentChanged(savedStudent.getId());
         return studentMapper.toResponse(savedStudent);
     }
 
@@ -47,6 +68,7 @@ public class StudentService {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
 
+        StatisticsService.Dimensions before = StatisticsService.Dimensions.of(student);
         studentMapper.updateEntity(student, request);
 
         if (request.getClassId() != null) {
@@ -56,6 +78,10 @@ public class StudentService {
         }
 
         Student updatedStudent = studentRepository.save(student);
+        statisticsService.studentMoved(before, updatedStudent);
+        searchIndexService.indexStudent(updatedStudent);
+        resourceVersions.changed(Resource.STUDENTS);
+        feeLedgerService.studentChanged(updatedStudent.getId());
         return studentMapper.toResponse(updatedStudent);
     }
 
@@ -68,42 +94,82 @@ public class StudentService {
 
     @Transactional(readOnly = true)
     public List<StudentResponse> getAllStudents() {
-        return studentRepository.findAll().stream()
+        return studentRepository.findAllRows().stream()
                 .map(studentMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    // Tous les élèves en flux JSON, dans l'ordre de /scroll (nom, id) ; une transaction par lot
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeAllStudents(OutputStream out) throws IOException {
+        jsonArrayWriter.write(out,
+                studentRepository::findFirstPage,
+                (last, batch) -> studentRepository.findPageAfter(last.lastName(), last.id(), batch),
+                studentMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StudentResponse> getStudentsPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<StudentRow> rows = after == null
+                ? studentRepository.findFirstPage(KeysetCursor.limit(size))
+                : studentRepository.findPageAfter(after.key(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, StudentRow::lastName, StudentRow::id, studentMapper::toResponse,
+                withTotal ? studentRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public Page<StudentResponse> getStudentsBySearch(String search, Pageable pageable) {
-        return studentRepository.findBySearch(search, pageable)
-                .map(studentMapper::toResponse);
+        // Un tri explicite remplace le classement par pertinence : la base trie et pagine
+        if (search == null || search.isBlank() || !searchIndexService.isReady() || pageable.getSort().isSorted()) {
+            return studentRepository.findRowsBySearch(search, pageable)
+                    .map(studentMapper::toResponse);
+        }
+
+        // Les identifiants sont classés par pertinence par l'index ; seule la page demandée est chargée
+        List<Long> rankedIds = searchIndexService.searchStudents(search);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, StudentRow> students = studentRepository.findRowsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(StudentRow::id, Function.identity()));
+        List<StudentResponse> content = pageIds.stream()
+                .map(students::get)
+                .filter(Objects::nonNull)
+                .map(studentMapper::toResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, rankedIds.size());
     }
 
     @Transactional(readOnly = true)
     public List<StudentResponse> getStudentsBySection(Section section) {
-        return studentRepository.findBySection(section).stream()
+        return studentRepository.findRowsBySection(section).stream()
                 .map(studentMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<StudentResponse> getStudentsByLanguage(Language language) {
-        return studentRepository.findByLanguage(language).stream()
+        return studentRepository.findRowsByLanguage(language).stream()
                 .map(studentMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<StudentResponse> getStudentsByClass(Long classId) {
-        return studentRepository.findByStudentClassId(classId).stream()
+        return studentRepository.findRowsByClassId(classId).stream()
                 .map(studentMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     public void deleteStudent(Long id) {
-        if (!studentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Élève non trouvé");
-        }
-        studentRepository.deleteById(id);
+        Student student = studentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Élève non trouvé"));
+        feeLedgerService.studentRemoved(id);
+        studentRepository.delete(student);
+        statisticsService.studentRemoved(student);
+        searchIndexService.removeStudent(id);
+        resourceVersions.changed(Resource.STUDENTS);
     }
 }
\ No newline at end of file
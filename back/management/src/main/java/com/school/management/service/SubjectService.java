@@ -1,17 +1,25 @@
 // service/SubjectService.java
 package com.school.management.service;
 
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.Subject;
 import com.school.management.entity.Teacher;
 import com.school.management.entity.enums.Section;
 import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.repository.SubjectRepository;
 import com.school.management.repository.TeacherRepository;
+import com.school.management.search.SearchIndexService;
+import com.school.management.service.ResourceVersions.Resource;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,12 +28,21 @@ public class SubjectService {
 
     private final SubjectRepository subjectRepository;
     private final TeacherRepository teacherRepository;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
+    private final ReferenceCacheService referenceCacheService;
+    private final ResourceVersions resourceVersions;
 
     public Subject createSubject(Subject subject) {
         if (subjectRepository.existsByNameAndSection(subject.getName(), subject.getSection())) {
             throw new IllegalArgumentException("Une matière avec ce nom existe déjà dans cette section");
         }
-        return subjectRepository.save(subject);
+        Subject savedSubject = subjectRepository.save(subject);
+        statisticsService.subjectAdded();
+        searchIndexService.indexSubject(savedSubject);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.SUBJECTS);
+        return savedSubject;
     }
 
     public Subject updateSubject(Long id, Subject subjectUpdate) {
@@ -41,7 +58,11 @@ public class SubjectService {
         subject.setLevel(subjectUpdate.getLevel());
         subject.setCoefficient(subjectUpdate.getCoefficient());
 
-        return subjectRepository.save(subject);
+        Subject updatedSubject = subjectRepository.save(subject);
+        searchIndexService.indexSubject(updatedSubject);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.SUBJECTS);
+        return updatedSubject;
     }
 
     @Transactional(readOnly = true)
@@ -55,6 +76,16 @@ public class SubjectService {
         return subjectRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Subject> getSubjectsPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Subject> rows = after == null
+                ? subjectRepository.findAllByOrderByNameAscIdAsc(KeysetCursor.limit(size))
+                : subjectRepository.findPageAfter(after.key(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, Subject::getName, Subject::getId, Function.identity(),
+                withTotal ? subjectRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public List<Subject> getSubjectsBySection(Section section) {
         return subjectRepository.findBySection(section);
@@ -67,7 +98,17 @@ public class SubjectService {
 
     @Transactional(readOnly = true)
     public List<Subject> searchSubjects(String search) {
-        return subjectRepository.findBySearch(search);
+        if (search == null || search.isBlank() || !searchIndexService.isReady()) {
+            return subjectRepository.findBySearch(search);
+        }
+
+        List<Long> rankedIds = searchIndexService.searchSubjects(search);
+        Map<Long, Subject> subjects = subjectRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Subject::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(subjects::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     public Subject assignTeacher(Long subjectId, Long teacherId) {
@@ -76,12 +117,16 @@ public class SubjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Enseignant non trouvé"));
 
         subject.setTeacher(teacher);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.SUBJECTS);
         return subjectRepository.save(subject);
     }
 
     public Subject removeTeacher(Long subjectId) {
         Subject subject = getSubjectById(subjectId);
         subject.setTeacher(null);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.SUBJECTS);
         return subjectRepository.save(subject);
     }
 
@@ -90,5 +135,9 @@ public class SubjectService {
             throw new ResourceNotFoundException("Matière non trouvée");
         }
         subjectRepository.deleteById(id);
+        statisticsService.subjectRemoved();
+        searchIndexService.removeSubject(id);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.SUBJECTS);
     }
 }
\ No newline at end of file
@@ -2,16 +2,23 @@
 package com.school.management.service;
 
 import com.school.management.dto.request.TeacherCreateRequest;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.dto.response.TeacherResponse;
 import com.school.management.entity.Teacher;
 import com.school.management.exception.ResourceNotFoundException;
 import com.school.management.mapper.TeacherMapper;
 import com.school.management.repository.TeacherRepository;
+import com.school.management.search.SearchIndexService;
+import com.school.management.service.ResourceVersions.Resource;
+import com.school.management.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,10 +28,19 @@ public class TeacherService {
 
     private final TeacherRepository teacherRepository;
     private final TeacherMapper teacherMapper;
+    private final StatisticsService statisticsService;
+    private final SearchIndexService searchIndexService;
+    private final ReferenceCacheService referenceCacheService;
+    private final ResourceVersions resourceVersions;
+    private final PrincipalCache principalCache;
 
     public TeacherResponse createTeacher(TeacherCreateRequest request) {
         Teacher teacher = teacherMapper.toEntity(request);
         Teacher savedTeacher = teacherRepository.save(teacher);
+        statisticsService.teacherAdded();
+        searchIndexService.indexTeacher(savedTeacher);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.TEACHERS);
         return teacherMapper.toResponse(savedTeacher);
     }
 
@@ -34,6 +50,9 @@ public class TeacherService {
 
         teacherMapper.updateEntity(teacher, request);
         Teacher updatedTeacher = teacherRepository.save(teacher);
+        searchIndexService.indexTeacher(updatedTeacher);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.TEACHERS);
         return teacherMapper.toResponse(updatedTeacher);
     }
 
@@ -57,9 +76,30 @@ public class TeacherService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TeacherResponse> getTeachersPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Teacher> rows = after == null
+                ? teacherRepository.findAllByOrderByLastNameAscIdAsc(KeysetCursor.limit(size))
+                : teacherRepository.findPageAfter(after.key(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, Teacher::getLastName, Teacher::getId, teacherMapper::toResponse,
+                withTotal ? teacherRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public List<TeacherResponse> searchTeachers(String search) {
-        return teacherRepository.findBySearch(search).stream()
+        if (search == null || search.isBlank() || !searchIndexService.isReady()) {
+            return teacherRepository.findBySearch(search).stream()
+                    .map(teacherMapper::toResponse)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> rankedIds = searchIndexService.searchTeachers(search);
+        Map<Long, Teacher> teachers = teacherRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Teacher::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(teachers::get)
+                .filter(Objects::nonNull)
                 .map(teacherMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -79,9 +119,15 @@ public class TeacherService {
     }
 
     public void deleteTeacher(Long id) {
-        if (!teacherRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Enseignant non trouvé");
+        Teacher teacher = teacherRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Enseignant non trouvé"));
+        if (teacher.getUser() != null) {
+            principalCache.invalidate(teacher.getUser().getId()); // fiche liée au compte
         }
-        teacherRepository.deleteById(id);
+        teacherRepository.delete(teacher);
+        statisticsService.teacherRemoved();
+        searchIndexService.removeTeacher(id);
+        referenceCacheService.referenceDataChanged();
+        resourceVersions.changed(Resource.TEACHERS);
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+// service/TokenService.java
+package com.school.management.service;
+
+import com.school.management.config.JwtConfig;
+import com.school.management.dto.projection.UserPrincipal;
+import com.school.management.entity.User;
+import com.school.management.entity.enums.UserRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Émission des jetons : un jeton d'accès court portant l'id (sub), le nom d'utilisateur
+ * et le rôle, et un jeton de rafraîchissement qui ne porte que l'id. Le rafraîchissement
+ * repart de l'utilisateur en cache (PrincipalCache), donc de son rôle actuel.
+ */
+@Service
+public class TokenService {
+
+    private final JwtEncoder jwtEncoder;
+    private final JwtDecoder refreshDecoder;
+    private final String issuer;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public TokenService(JwtEncoder jwtEncoder,
+                        JwtConfig jwtConfig,
+                        @Value("${app.security.jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+                        @Value("${app.security.jwt.refresh-token-ttl:8h}") Duration refreshTokenTtl) {
+        this.jwtEncoder = jwtEncoder;
+        this.refreshDecoder = jwtConfig.decoder(JwtConfig.REFRESH_TOKEN);
+        this.issuer = jwtConfig.getIssuer();
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    public Map<String, Object> issueTokens(User user) {
+        return issueTokens(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    public Map<String, Object> issueTokens(UserPrincipal principal) {
+        return issueTokens(principal.id(), principal.username(), principal.role());
+    }
+
+    private Map<String, Object> issueTokens(Long userId, String username, UserRole role) {
+        Instant now = Instant.now();
+        JwtClaimsSet access = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(String.valueOf(userId))
+                .issuedAt(now)
+                .expiresAt(now.plus(accessTokenTtl))
+                .claim(JwtConfig.TOKEN_TYPE_CLAIM, JwtConfig.ACCESS_TOKEN)
+                .claim(JwtConfig.USERNAME_CLAIM, username)
+                .claim(JwtConfig.ROLE_CLAIM, role.name())
+                .build();
+        JwtClaimsSet refresh = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(String.valueOf(userId))
+                .issuedAt(now)
+                .expiresAt(now.plus(refreshTokenTtl))
+                .claim(JwtConfig.TOKEN_TYPE_CLAIM, JwtConfig.REFRESH_TOKEN)
+                .build();
+
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        tokens.put("token", encode(access));
+        tokens.put("refreshToken", encode(refresh));
+        tokens.put("tokenType", "Bearer");
+        tokens.put("expiresIn", accessTokenTtl.toSeconds());
+        return tokens;
+    }
+
+    /** Jeton de rafraîchissement vérifié (signature, émetteur, type, expiration). */
+    public Jwt readRefreshToken(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new IllegalArgumentException("Jeton de rafraîchissement manquant");
+        }
+        try {
+            return refreshDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("Jeton de rafraîchissement invalide ou expiré");
+        }
+    }
+
+    private String encode(JwtClaimsSet claims) {
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
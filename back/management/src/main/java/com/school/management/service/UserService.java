@@ -1,32 +1,68 @@
 // service/UserService.java
 package com.school.management.service;
 
+import com.school.management.dto.projection.UserPrincipal;
+import com.school.management.dto.response.CursorPageResponse;
 import com.school.management.entity.User;
 import com.school.management.entity.enums.UserRole;
 import com.school.management.exception.ResourceNotFoundException;
+import com.school.management.exception.TooManyRequestsException;
 import com.school.management.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.school.management.util.KeysetCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
+    private final TokenService tokenService;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final PrincipalCache principalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate primaryRead;
 
-    public User createUser(User user) {
+    public UserService(UserRepository userRepository,
+                       PasswordHasher passwordHasher,
+                       LoginThrottle loginThrottle,
+                       TokenService tokenService,
+                       LastLoginRecorder lastLoginRecorder,
+                       PrincipalCache principalCache,
+                       TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
+        this.tokenService = tokenService;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.principalCache = principalCache;
+        this.transactionTemplate = transactionTemplate;
+        // Transaction propre, non marquée lecture seule : le compte est lu sur la base principale,
+        // un mot de passe changé ne doit plus être accepté le temps que la réplique rattrape son retard
+        this.primaryRead = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public User createUser(User user, UserPrincipal actor) {
+        requireRoleGrantable(actor, user.getRole());
         if (userRepository.existsByUsername(user.getUsername())) {
             throw new IllegalArgumentException("Nom d'utilisateur déjà existant");
         }
@@ -34,41 +70,68 @@ public class UserService {
             throw new IllegalArgumentException("Email déjà existant");
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHasher.encode(user.getPassword()).join());
         user.setCreatedAt(LocalDateTime.now());
         user.setActive(true);
         return userRepository.save(user);
     }
 
-    // Méthode authenticate ajoutée (manquante)
-    public Map<String, Object> authenticate(String username, String password) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        Map<String, Object> result = new HashMap<>();
+    /**
+     * Vérifie les identifiants et émet les jetons. La tentative est d'abord soumise à
+     * {@link LoginThrottle}, puis la vérification BCrypt se fait sur {@link PasswordHasher}
+     * (hors des threads HTTP). Aucune écriture : la date de dernière connexion est confiée
+     * à {@link LastLoginRecorder} ; seule une empreinte d'un coût dépassé est réécrite.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Map<String, Object>> authenticate(String username, String password, String clientIp) {
+        loginThrottle.acquire(username, clientIp);
 
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (user.getActive() && passwordEncoder.matches(password, user.getPassword())) {
-                user.setLastLogin(LocalDateTime.now());
-                userRepository.save(user);
-
-                result.put("success", true);
-                result.put("user", user);
-                result.put("message", "Connexion réussie");
-            } else {
-                result.put("success", false);
-                result.put("message", "Compte inactif ou mot de passe incorrect");
-            }
-        } else {
-            result.put("success", false);
-            result.put("message", "Utilisateur non trouvé");
+        Optional<User> userOpt = primaryRead.execute(status -> userRepository.findByUsername(username));
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(failure("Utilisateur non trouvé"));
+        }
+        User user = userOpt.get();
+        if (!user.getActive()) {
+            return CompletableFuture.completedFuture(failure("Compte inactif ou mot de passe incorrect"));
         }
 
+        return passwordHasher.matches(password, user.getPassword()).thenApply(matches -> {
+            if (!matches) {
+                return failure("Compte inactif ou mot de passe incorrect");
+            }
+            loginThrottle.succeeded(username, clientIp);
+            lastLoginRecorder.record(user.getId(), LocalDateTime.now());
+            if (passwordHasher.needsUpgrade(user.getPassword())) {
+                upgradePasswordHash(user, password);
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.putAll(tokenService.issueTokens(user));
+            result.put("user", summary(user));
+            result.put("message", "Connexion réussie");
+            return result;
+        });
+    }
+
+    // Nouveaux jetons si le compte est toujours actif et le mot de passe inchangé depuis la connexion
+    @Transactional(readOnly = true)
+    public Map<String, Object> refresh(String refreshToken) {
+        Jwt token = tokenService.readRefreshToken(refreshToken);
+        UserPrincipal principal = principalCache.getValid(Long.valueOf(token.getSubject()), token.getIssuedAt())
+                .orElseThrow(() -> new IllegalArgumentException("Session expirée ou compte désactivé"));
+
+        Map<String, Object> result = new HashMap<>(tokenService.issueTokens(principal));
+        result.put("success", true);
+        result.put("user", principal);
         return result;
     }
 
-    public User updateUser(Long id, User userUpdate) {
+    public User updateUser(Long id, User userUpdate, UserPrincipal actor) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé"));
+        requireRoleGrantable(actor, user.getRole());
+        requireRoleGrantable(actor, userUpdate.getRole());
 
         user.setFirstName(userUpdate.getFirstName());
         user.setLastName(userUpdate.getLastName());
@@ -77,6 +140,7 @@ public class UserService {
         user.setRole(userUpdate.getRole());
         user.setActive(userUpdate.getActive());
 
+        principalCache.invalidate(id);
         return userRepository.save(user);
     }
 
@@ -97,6 +161,16 @@ public class UserService {
         return userRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<User> getUsersPage(String cursor, int size, boolean withTotal) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<User> rows = after == null
+                ? userRepository.findAllByOrderByUsernameAscIdAsc(KeysetCursor.limit(size))
+                : userRepository.findPageAfter(after.key(), after.id(), KeysetCursor.limit(size));
+        return KeysetCursor.page(rows, size, User::getUsername, User::getId, Function.identity(),
+                withTotal ? userRepository::count : null);
+    }
+
     @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -127,30 +201,31 @@ public class UserService {
     public void changePassword(Long userId, String oldPassword, String newPassword) {
         User user = getUserById(userId);
 
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHasher.matches(oldPassword, user.getPassword()).join()) {
             throw new IllegalArgumentException("Ancien mot de passe incorrect");
         }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        setPassword(user, passwordHasher.encode(newPassword).join());
     }
 
     public void changePassword(Long userId, String newPassword) {
         User user = getUserById(userId);
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        setPassword(user, passwordHasher.encode(newPassword).join());
     }
 
+    // Prend effet dès la validation : les jetons du compte sont refusés à la requête suivante
     public void deactivateUser(Long id) {
         User user = getUserById(id);
         user.setActive(false);
         userRepository.save(user);
+        principalCache.invalidate(id);
     }
 
     public void activateUser(Long id) {
         User user = getUserById(id);
         user.setActive(true);
         userRepository.save(user);
+        principalCache.invalidate(id);
     }
 
     public void deleteUser(Long id) {
@@ -158,5 +233,52 @@ public class UserService {
             throw new ResourceNotFoundException("Utilisateur non trouvé");
         }
         userRepository.deleteById(id);
+        principalCache.invalidate(id);
+    }
+
+    // Les jetons émis avant le changement sont refusés (sessions ouvertes fermées)
+    private void setPassword(User user, String encodedPassword) {
+        user.setPassword(encodedPassword);
+        user.setPasswordChangedAt(LocalDateTime.now());
+        userRepository.save(user);
+        principalCache.invalidate(user.getId());
+    }
+
+    // Coût BCrypt relevé depuis le calcul de l'empreinte : nouvelle empreinte calculée
+    // sans retarder la réponse, et ignorée si le mot de passe a changé entre-temps.
+    // File de hachage pleine : la mise à niveau attendra la prochaine connexion.
+    private void upgradePasswordHash(User user, String rawPassword) {
+        try {
+            passwordHasher.encode(rawPassword).thenAccept(upgraded -> transactionTemplate.executeWithoutResult(
+                    status -> userRepository.replacePassword(user.getId(), user.getPassword(), upgraded)));
+        } catch (TooManyRequestsException e) {
+            // rien à faire
+        }
+    }
+
+    private static Map<String, Object> failure(String message) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", false);
+        result.put("message", message);
+        return result;
+    }
+
+    // Profil renvoyé au client à la connexion (sans le mot de passe haché)
+    private static Map<String, Object> summary(User user) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("id", user.getId());
+        summary.put("username", user.getUsername());
+        summary.put("firstName", user.getFirstName());
+        summary.put("lastName", user.getLastName());
+        summary.put("email", user.getEmail());
+        summary.put("role", user.getRole());
+        return summary;
+    }
+
+    // Seule la direction attribue le rôle de directeur des études, ou modifie un tel compte
+    private static void requireRoleGrantable(UserPrincipal actor, UserRole role) {
+        if (role == UserRole.STUDY_DIRECTOR && (actor == null || actor.role() != UserRole.STUDY_DIRECTOR)) {
+            throw new AccessDeniedException("Seule la direction peut attribuer le rôle de directeur des études");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+// storage/BlobLocks.java
+package com.school.management.storage;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous par empreinte (répartis sur un nombre fixe de verrous) : sérialisent
+ * l'ajout d'une référence et la suppression du dernier document pointant sur
+ * le même fichier.
+ */
+@Component
+public class BlobLocks {
+
+    private static final int STRIPES = 64;
+
+    private final Lock[] locks = new Lock[STRIPES];
+
+    public BlobLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock forHash(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), STRIPES)];
+    }
+}
@@ -0,0 +1,34 @@
+// storage/BlobStore.java
+package com.school.management.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Stockage des fichiers adressé par contenu : chaque fichier est identifié par
+ * l'empreinte SHA-256 de ses octets et n'est écrit qu'une seule fois.
+ * L'écriture se fait en deux temps : {@link #stage} copie le flux dans un fichier
+ * temporaire en calculant l'empreinte, {@link #commit} le met en place.
+ */
+public interface BlobStore {
+
+    StagedBlob stage(InputStream content) throws IOException;
+
+    /**
+     * Met le fichier temporaire à sa place définitive ; s'il existe déjà un fichier
+     * de même empreinte, le temporaire est simplement supprimé.
+     */
+    Path commit(StagedBlob blob) throws IOException;
+
+    void discard(StagedBlob blob);
+
+    Path resolve(String hash);
+
+    boolean exists(String hash);
+
+    boolean delete(String hash) throws IOException;
+
+    record StagedBlob(Path tempFile, String hash, long size) {
+    }
+}
@@ -0,0 +1,123 @@
+// storage/ContentTypes.java
+package com.school.management.storage;
+
+import java.util.Locale;
+
+/**
+ * Détection du type MIME à partir des premiers octets du fichier (signature),
+ * l'extension ne servant qu'à distinguer les formats bureautiques de même conteneur.
+ * Le type annoncé par le navigateur n'est pas utilisé.
+ */
+public final class ContentTypes {
+
+    public static final int HEADER_SIZE = 16;
+
+    public static final String PDF = "application/pdf";
+    public static final String ZIP = "application/zip";
+    public static final String OCTET_STREAM = "application/octet-stream";
+    public static final String TEXT = "text/plain";
+
+    private ContentTypes() {
+    }
+
+    public static String detect(byte[] header, String fileName) {
+        String extension = extension(fileName);
+
+        if (startsWith(header, '%', 'P', 'D', 'F', '-')) {
+            return PDF;
+        }
+        if (startsWith(header, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "image/webp";
+        }
+        if (startsWith(header, 'I', 'I', 0x2A, 0x00) || startsWith(header, 'M', 'M', 0x00, 0x2A)) {
+            return "image/tiff";
+        }
+        if (startsWith(header, 'P', 'K', 0x03, 0x04)) {
+            return switch (extension) {
+                case "docx" -> "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+                case "xlsx" -> "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+                case "pptx" -> "application/vnd.openxmlformats-officedocument.presentationml.presentation";
+                case "odt" -> "application/vnd.oasis.opendocument.text";
+                case "ods" -> "application/vnd.oasis.opendocument.spreadsheet";
+                default -> ZIP;
+            };
+        }
+        if (startsWith(header, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)) {
+            return switch (extension) {
+                case "doc" -> "application/msword";
+                case "xls" -> "application/vnd.ms-excel";
+                case "ppt" -> "application/vnd.ms-powerpoint";
+                default -> OCTET_STREAM;
+            };
+        }
+        if (header.length > 0 && isText(header)) {
+            return "csv".equals(extension) ? "text/csv" : TEXT;
+        }
+        return OCTET_STREAM;
+    }
+
+    public static boolean isImage(String mimeType) {
+        return mimeType != null && mimeType.startsWith("image/");
+    }
+
+    // Formats bureautiques (conteneurs ZIP ou OLE)
+    public static boolean isOffice(String mimeType) {
+        return mimeType != null && (mimeType.startsWith("application/vnd.") || mimeType.equals("application/msword"));
+    }
+
+    // Formats déjà compressés : inutile de les recompresser dans une archive
+    public static boolean isCompressed(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        return switch (mimeType) {
+            case PDF, ZIP, "image/jpeg", "image/png", "image/gif", "image/webp",
+                 "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+                 "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                 "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+                 "application/vnd.oasis.opendocument.text",
+                 "application/vnd.oasis.opendocument.spreadsheet" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean startsWith(byte[] header, int... signature) {
+        if (header.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isText(byte[] header) {
+        for (byte b : header) {
+            int c = b & 0xFF;
+            if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String extension(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
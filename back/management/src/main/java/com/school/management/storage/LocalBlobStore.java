@@ -0,0 +1,113 @@
+// storage/LocalBlobStore.java
+package com.school.management.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Stockage sur disque local. Les fichiers sont répartis sur deux niveaux de
+ * sous-répertoires tirés de l'empreinte (ab/cd/abcd...) pour qu'aucun répertoire
+ * ne contienne un trop grand nombre d'entrées.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.documents.storage", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public LocalBlobStore(@Value("${app.documents.storage-dir:uploads/blobs}") String storageDir) throws IOException {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+        // Le répertoire temporaire est sur le même système de fichiers, pour un déplacement atomique
+        this.tmpDir = root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    @Override
+    public StagedBlob stage(InputStream content) throws IOException {
+        Path tempFile = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(tempFile)) {
+                size = in.transferTo(out);
+            }
+            return new StagedBlob(tempFile, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public Path commit(StagedBlob blob) throws IOException {
+        Path target = resolve(blob.hash());
+        if (Files.exists(target)) {
+            discard(blob);
+            return target;
+        }
+
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(blob.tempFile(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(blob.tempFile(), target);
+        } catch (FileAlreadyExistsException e) {
+            discard(blob);
+        }
+        return target;
+    }
+
+    @Override
+    public void discard(StagedBlob blob) {
+        try {
+            Files.deleteIfExists(blob.tempFile());
+        } catch (IOException e) {
+            log.warn("Impossible de supprimer le fichier temporaire {}", blob.tempFile(), e);
+        }
+    }
+
+    @Override
+    public Path resolve(String hash) {
+        if (hash == null || hash.length() < 4 || !hash.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Empreinte de fichier invalide");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.exists(resolve(hash));
+    }
+
+    @Override
+    public boolean delete(String hash) throws IOException {
+        return Files.deleteIfExists(resolve(hash));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+// storage/UploadPipeline.java
+package com.school.management.storage;
+
+import com.school.management.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réception des fichiers téléversés : en une seule lecture, le contenu est copié
+ * dans le stockage temporaire, son empreinte SHA-256 calculée, son type détecté
+ * et sa taille contrôlée selon ce type.
+ * Le travail est fait sur un exécuteur dédié dont la file est bornée : au-delà,
+ * les nouveaux envois sont refusés (429) au lieu d'occuper les threads HTTP.
+ */
+@Component
+public class UploadPipeline {
+
+    private static final int RETRY_AFTER_SECONDS = 5;
+
+    private final BlobStore blobStore;
+    private final ThreadPoolExecutor executor;
+    private final long maxPdfSize;
+    private final long maxImageSize;
+    private final long maxOfficeSize;
+    private final long maxOtherSize;
+
+    public UploadPipeline(BlobStore blobStore,
+                          @Value("${app.documents.upload.threads:4}") int threads,
+                          @Value("${app.documents.upload.queue-capacity:32}") int queueCapacity,
+                          @Value("${app.documents.max-size.pdf:20MB}") DataSize maxPdfSize,
+                          @Value("${app.documents.max-size.image:10MB}") DataSize maxImageSize,
+                          @Value("${app.documents.max-size.office:10MB}") DataSize maxOfficeSize,
+                          @Value("${app.documents.max-size.other:5MB}") DataSize maxOtherSize) {
+        this.blobStore = blobStore;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("document-upload-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxPdfSize = maxPdfSize.toBytes();
+        this.maxImageSize = maxImageSize.toBytes();
+        this.maxOfficeSize = maxOfficeSize.toBytes();
+        this.maxOtherSize = maxOtherSize.toBytes();
+    }
+
+    public CompletableFuture<ReceivedFile> receive(MultipartFile file) {
+        try {
+            return CompletableFuture.supplyAsync(() -> stage(file), executor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(
+                    "Trop de téléversements en cours, veuillez réessayer dans quelques instants", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    public long maxSize(String mimeType) {
+        if (ContentTypes.PDF.equals(mimeType)) {
+            return maxPdfSize;
+        }
+        if (ContentTypes.isImage(mimeType)) {
+            return maxImageSize;
+        }
+        if (ContentTypes.isOffice(mimeType)) {
+            return maxOfficeSize;
+        }
+        return maxOtherSize;
+    }
+
+    private ReceivedFile stage(MultipartFile file) {
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(ContentTypes.HEADER_SIZE);
+            byte[] header = in.readNBytes(ContentTypes.HEADER_SIZE);
+            in.reset();
+
+            String mimeType = ContentTypes.detect(header, file.getOriginalFilename());
+            long limit = maxSize(mimeType);
+            if (file.getSize() > limit) {
+                throw new MaxUploadSizeExceededException(limit);
+            }
+
+            BlobStore.StagedBlob blob = blobStore.stage(new LimitedInputStream(in, limit));
+            return new ReceivedFile(blob, mimeType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public record ReceivedFile(BlobStore.StagedBlob blob, String mimeType) {
+    }
+
+    // Interrompt la copie dès que la limite est dépassée (la taille annoncée n'est pas fiable)
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                checkLimit(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                checkLimit(n);
+            }
+            return n;
+        }
+
+        private void checkLimit(int n) {
+            count += n;
+            if (count > limit) {
+                throw new MaxUploadSizeExceededException(limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// util/KeysetCursor.java
+package com.school.management.util;
+
+import com.school.management.dto.response.CursorPageResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Curseur opaque de pagination par clé : valeur de tri et identifiant de la
+ * dernière ligne renvoyée. Les requêtes reprennent strictement après ce couple,
+ * ce qui évite l'OFFSET et garde un coût constant quelle que soit la page.
+ */
+public record KeysetCursor(String key, Long id) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = (key != null ? key : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur reçu du client ; null ou vide signifie première page.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            return new KeysetCursor(raw.substring(0, separator), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException et erreurs Base64 comprises
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    /**
+     * Limite de la requête : une ligne de plus que la page pour savoir s'il existe une suite.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, clamp(size) + 1);
+    }
+
+    /**
+     * Construit la réponse à partir des lignes lues avec {@link #limit(int)}.
+     * Le total n'est calculé que si totalSupplier est fourni.
+     */
+    public static <E, R> CursorPageResponse<R> page(List<E> rows, int size,
+                                                    Function<E, Object> sortKey,
+                                                    Function<E, Long> idKey,
+                                                    Function<E, R> mapper,
+                                                    Supplier<Long> totalSupplier) {
+        int pageSize = clamp(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E last = pageRows.get(pageRows.size() - 1);
+            Object value = sortKey.apply(last);
+            nextCursor = new KeysetCursor(value != null ? value.toString() : null, idKey.apply(last)).encode();
+        }
+
+        List<R> content = pageRows.stream().map(mapper).toList();
+        Long total = totalSupplier != null ? totalSupplier.get() : null;
+        return new CursorPageResponse<>(content, content.size(), hasNext, nextCursor, total);
+    }
+
+    private static int clamp(int size) {
+        if (size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+}
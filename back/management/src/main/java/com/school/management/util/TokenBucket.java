@@ -0,0 +1,60 @@
+// util/TokenBucket.java
+package com.school.management.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou : capacity jetons au plus, un jeton rendu toutes les
+ * refillIntervalNanos. L'état tient dans un seul AtomicLong, l'instant auquel le seau
+ * sera de nouveau plein (forme « heure d'arrivée théorique » du seau à jetons) ;
+ * prendre ou rendre un jeton est un simple compare-and-set.
+ */
+public final class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int capacity, long refillIntervalNanos, long nowNanos) {
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstNanos = capacity * refillIntervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Prend un jeton ; renvoie 0 en cas de succès, sinon l'attente en nanosecondes
+     * avant qu'un jeton soit disponible (le seau n'est alors pas modifié).
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + refillIntervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Rend un jeton pris (sans dépasser la capacité). */
+    public void refund(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            if (current <= nowNanos) {
+                return;
+            }
+            long next = Math.max(current - refillIntervalNanos, nowNanos);
+            if (fullAt.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /** Seau plein : il peut être oublié sans changer le comportement. */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,46 @@
+-- Tables et colonnes introduites avant le passage à Flyway, absentes du schéma initial (V1) :
+-- barèmes et soldes matérialisés des élèves, séquence des notes (insertions groupées),
+-- empreinte des documents du stockage adressé par contenu.
+
+alter table documents add column content_hash varchar(64);
+
+create index idx_documents_content_hash on documents (content_hash);
+
+create table fee_schedules (
+    amount decimal(10,2) not null,
+    id bigint not null auto_increment,
+    academic_year varchar(255) not null,
+    description varchar(255),
+    level varchar(255),
+    section enum ('CRECHE','MATERNELLE','PRIMAIRE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table fee_schedules add constraint uk_fee_schedule unique (section, level, academic_year);
+
+create table student_balances (
+    amount_due decimal(10,2) not null,
+    amount_paid decimal(10,2) not null,
+    outstanding decimal(10,2) not null,
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    updated_at datetime(6) not null,
+    academic_year varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_student_balances_outstanding on student_balances (academic_year, outstanding);
+
+alter table student_balances add constraint uk_student_balance unique (student_id, academic_year);
+
+alter table student_balances add constraint FKo5gtcwtqf50rp7t3yoom6js08 foreign key (student_id) references students (id);
+
+-- Identifiants des notes alloués par blocs de 50 depuis grades_seq : la séquence démarre
+-- au-dessus des notes existantes (marge de 51, voir V3) et AUTO_INCREMENT est retiré (voir V9).
+create table grades_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into grades_seq select coalesce(max(id) + 51, 1) from grades;
+
+alter table grades modify id bigint not null;
@@ -0,0 +1,234 @@
+-- Schéma initial (identique à celui produit jusqu'ici par ddl-auto=update).
+-- Les bases existantes sont marquées à cette version (baseline-on-migrate) sans être modifiées.
+
+create table class_subjects (
+    class_id bigint not null,
+    subject_id bigint not null
+) engine=InnoDB;
+
+create table classes (
+    max_capacity integer,
+    id bigint not null auto_increment,
+    teacher_id bigint,
+    academic_year varchar(255) not null,
+    level varchar(255) not null,
+    name varchar(255) not null,
+    language enum ('ANGLOPHONE','FRANCOPHONE') not null,
+    section enum ('CRECHE','MATERNELLE','PRIMAIRE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table disciplines (
+    created_at date,
+    incident_date date not null,
+    resolved bit,
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    action TEXT,
+    description TEXT not null,
+    reported_by varchar(255),
+    type enum ('BLAME','CONVOCATION') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table documents (
+    created_at datetime(6) not null,
+    file_size bigint,
+    id bigint not null auto_increment,
+    student_id bigint,
+    academic_year varchar(255),
+    created_by varchar(255),
+    file_path varchar(255),
+    mime_type varchar(255),
+    name varchar(255) not null,
+    term varchar(255),
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table equipment (
+    maintenance_date date,
+    purchase_date date,
+    purchase_price decimal(10,2),
+    warranty_expiry_date date,
+    id bigint not null auto_increment,
+    assigned_to varchar(255),
+    brand varchar(255),
+    category varchar(255),
+    description TEXT,
+    location varchar(255),
+    model varchar(255),
+    name varchar(255) not null,
+    serial_number varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table grades (
+    grade_date date not null,
+    value decimal(5,2) not null,
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    subject_id bigint not null,
+    academic_year varchar(255) not null,
+    comments varchar(255),
+    exam_type varchar(255),
+    semester varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table payments (
+    amount decimal(10,2) not null,
+    payment_date date not null,
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    academic_year varchar(255) not null,
+    description varchar(255),
+    payment_type varchar(255) not null,
+    receipt_number varchar(255),
+    payment_mode enum ('BANK_TRANSFER','CASH','CHECK','MOBILE_MONEY') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table purchases (
+    purchase_date date not null,
+    quantity integer not null,
+    total_amount decimal(10,2) not null,
+    unit_price decimal(10,2) not null,
+    id bigint not null auto_increment,
+    category varchar(255),
+    description TEXT,
+    invoice_number varchar(255),
+    item_name varchar(255) not null,
+    supplier varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table staff (
+    birth_date date,
+    hire_date date,
+    salary decimal(38,2),
+    id bigint not null auto_increment,
+    user_id bigint,
+    address varchar(255),
+    department varchar(255),
+    email varchar(255),
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    phone varchar(255),
+    position varchar(255),
+    gender enum ('FEMALE','MALE'),
+    role enum ('ACADEMIC_STAFF','ADMIN_STAFF','STUDY_DIRECTOR','TEACHER'),
+    primary key (id)
+) engine=InnoDB;
+
+create table students (
+    date_of_birth date not null,
+    registration_date date not null,
+    class_id bigint,
+    id bigint not null auto_increment,
+    academic_year varchar(255) not null,
+    address varchar(255),
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    parent_email varchar(255),
+    parent_name varchar(255) not null,
+    parent_phone varchar(255),
+    gender enum ('FEMALE','MALE') not null,
+    language enum ('ANGLOPHONE','FRANCOPHONE') not null,
+    section enum ('CRECHE','MATERNELLE','PRIMAIRE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table subject_teachers (
+    subject_id bigint not null,
+    teacher_id bigint not null
+) engine=InnoDB;
+
+create table subjects (
+    coefficient integer,
+    credits integer,
+    id bigint not null auto_increment,
+    teacher_id bigint,
+    code varchar(255),
+    description TEXT,
+    level varchar(255),
+    name varchar(255) not null,
+    language enum ('ANGLOPHONE','FRANCOPHONE'),
+    section enum ('CRECHE','MATERNELLE','PRIMAIRE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table teachers (
+    birth_date date,
+    hire_date date,
+    id bigint not null auto_increment,
+    user_id bigint,
+    email varchar(255),
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    phone varchar(255),
+    specialization varchar(255),
+    task_description TEXT,
+    gender enum ('FEMALE','MALE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    active bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    last_login datetime(6),
+    email varchar(255) not null,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone varchar(255),
+    username varchar(255) not null,
+    role enum ('ACADEMIC_STAFF','ADMIN_STAFF','STUDY_DIRECTOR','TEACHER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table equipment add constraint UKagm98wn5ln6uoh6o9hx25ogic unique (serial_number);
+
+alter table staff add constraint UK7qatq4kob2sr6rlp44khhj53g unique (user_id);
+
+alter table staff add constraint UKpvctx4dbua9qh4p4s3gm3scrh unique (email);
+
+alter table subjects add constraint UKrg7x1lyii7kdyycw98d45vep5 unique (code);
+
+alter table teachers add constraint UKcd1k6xwg9jqtiwx9ybnxpmoh9 unique (user_id);
+
+alter table teachers add constraint UK4l9jjfvsct1dd5aufnurxcvbs unique (email);
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table class_subjects add constraint FKck6avvuoer3mgm2mbjgs0gw6m foreign key (subject_id) references subjects (id);
+
+alter table class_subjects add constraint FKqj4bwb8mpht4mqjlx321qt7i0 foreign key (class_id) references classes (id);
+
+alter table classes add constraint FK8td8h5k21lq8jax2h6oobm9l0 foreign key (teacher_id) references teachers (id);
+
+alter table disciplines add constraint FKh2inhvb2tb4aw2liv9imt1nxs foreign key (student_id) references students (id);
+
+alter table documents add constraint FK1men4i9k1s1t8bfm9clnsv9ko foreign key (student_id) references students (id);
+
+alter table grades add constraint FK13a16545m7vvrcspc999r15s9 foreign key (student_id) references students (id);
+
+alter table grades add constraint FKrc0s5tgvm9r4ccxitaqtu88k5 foreign key (subject_id) references subjects (id);
+
+alter table payments add constraint FK6ooq278k2bs5xi8t5o6oort1v foreign key (student_id) references students (id);
+
+alter table staff add constraint FKdlvw23ak3u9v9bomm8g12rtc0 foreign key (user_id) references users (id);
+
+alter table students add constraint FKhnslh0rm5bthlble8vjunbnwe foreign key (class_id) references classes (id);
+
+alter table subject_teachers add constraint FKnphdxlk8ekqt4uuodnwl6nmcc foreign key (teacher_id) references teachers (id);
+
+alter table subject_teachers add constraint FKnnu8waglyumx966dh1gkcnkd4 foreign key (subject_id) references subjects (id);
+
+alter table subjects add constraint FKsjy6ghvvelraa2w9mhv3bbnys foreign key (teacher_id) references teachers (id);
+
+alter table teachers add constraint FKb8dct7w2j1vl1r2bpstw5isc0 foreign key (user_id) references users (id);
@@ -0,0 +1,70 @@
+-- Index des requêtes des dépôts (com.school.management.repository).
+-- Les clés étrangères ont déjà leur index InnoDB ; les index ci-dessous couvrent les filtres,
+-- les tris de la pagination par clé et les agrégats des tableaux de bord.
+
+-- Élèves : listes par année / section / langue, comptages du tableau de bord, tri par nom
+create index idx_students_year_section_language on students (academic_year, section, language);
+create index idx_students_section_language on students (section, language);
+create index idx_students_language on students (language);
+create index idx_students_last_name on students (last_name);
+
+-- Notes : relevés d'un élève par trimestre et année, moyennes d'une matière
+create index idx_grades_student_semester_year on grades (student_id, semester, academic_year);
+create index idx_grades_subject_semester on grades (subject_id, semester);
+
+-- Paiements : totaux par année et par élève (index couvrants), journal par date
+create index idx_payments_year_amount on payments (academic_year, amount);
+create index idx_payments_student_year_amount on payments (student_id, academic_year, amount);
+create index idx_payments_payment_date on payments (payment_date);
+create index idx_payments_payment_type on payments (payment_type);
+create index idx_payments_payment_mode on payments (payment_mode);
+
+-- Discipline : incidents non résolus par date, périodes, filtres par type
+create index idx_disciplines_resolved_incident_date on disciplines (resolved, incident_date);
+create index idx_disciplines_incident_date on disciplines (incident_date);
+create index idx_disciplines_student_resolved on disciplines (student_id, resolved);
+create index idx_disciplines_type_resolved on disciplines (type, resolved);
+create index idx_disciplines_created_at on disciplines (created_at);
+create index idx_disciplines_reported_by on disciplines (reported_by);
+
+-- Documents : documents d'un élève par type, export par année et trimestre, journal par date
+create index idx_documents_student_type on documents (student_id, type);
+create index idx_documents_type on documents (type);
+create index idx_documents_year_term on documents (academic_year, term);
+create index idx_documents_created_at on documents (created_at);
+create index idx_documents_created_by on documents (created_by);
+
+-- Achats : numéro de facture unique, périodes par catégorie et par fournisseur
+-- (la migration échoue si des doublons de numéro de facture existent : les corriger d'abord)
+alter table purchases add constraint uk_purchases_invoice_number unique (invoice_number);
+create index idx_purchases_purchase_date on purchases (purchase_date);
+create index idx_purchases_category_date on purchases (category, purchase_date);
+create index idx_purchases_supplier_date on purchases (supplier, purchase_date);
+
+-- Matériel (le numéro de série est déjà unique)
+create index idx_equipment_category on equipment (category);
+create index idx_equipment_status on equipment (status);
+create index idx_equipment_location on equipment (location);
+create index idx_equipment_assigned_to on equipment (assigned_to);
+create index idx_equipment_maintenance_date on equipment (maintenance_date);
+
+-- Classes et matières
+create index idx_classes_year on classes (academic_year);
+create index idx_classes_section_language on classes (section, language);
+create index idx_classes_level on classes (level);
+create index idx_classes_name_section on classes (name, section);
+create index idx_subjects_section_language on subjects (section, language);
+create index idx_subjects_level on subjects (level);
+
+-- Personnel, enseignants, utilisateurs
+create index idx_staff_last_name on staff (last_name);
+create index idx_staff_department on staff (department);
+create index idx_staff_position on staff (position);
+create index idx_staff_role on staff (role);
+create index idx_teachers_last_name on teachers (last_name);
+create index idx_teachers_specialization on teachers (specialization);
+create index idx_users_role on users (role);
+create index idx_users_active on users (active);
+
+-- Barèmes des frais
+create index idx_fee_schedules_year on fee_schedules (academic_year);
@@ -0,0 +1,76 @@
+-- Identifiants alloués par blocs de 50 (générateur « pooled » d'Hibernate, séquences émulées par table).
+-- Chaque table de séquence démarre au-dessus des identifiants existants : Hibernate alloue
+-- le bloc [next_val - 49, next_val], d'où la marge de 51 ; une table vide démarre à 1 comme grades_seq.
+-- Les colonnes AUTO_INCREMENT sont conservées (insertions SQL directes, anciens identifiants inchangés).
+
+create table payments_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into payments_seq select coalesce(max(id) + 51, 1) from payments;
+
+create table students_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into students_seq select coalesce(max(id) + 51, 1) from students;
+
+create table disciplines_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into disciplines_seq select coalesce(max(id) + 51, 1) from disciplines;
+
+create table documents_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into documents_seq select coalesce(max(id) + 51, 1) from documents;
+
+create table purchases_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into purchases_seq select coalesce(max(id) + 51, 1) from purchases;
+
+create table equipment_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into equipment_seq select coalesce(max(id) + 51, 1) from equipment;
+
+create table staff_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into staff_seq select coalesce(max(id) + 51, 1) from staff;
+
+create table users_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into users_seq select coalesce(max(id) + 51, 1) from users;
+
+create table fee_schedules_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into fee_schedules_seq select coalesce(max(id) + 51, 1) from fee_schedules;
+
+create table subjects_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into subjects_seq select coalesce(max(id) + 51, 1) from subjects;
+
+create table teachers_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into teachers_seq select coalesce(max(id) + 51, 1) from teachers;
+
+create table classes_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into classes_seq select coalesce(max(id) + 51, 1) from classes;
@@ -0,0 +1,96 @@
+-- Archives des années scolaires clôturées (AcademicYearService.closeYear).
+-- Mêmes colonnes et mêmes identifiants que les tables actives, sans clé étrangère :
+-- l'historique survit à la suppression d'un élève, d'une matière ou d'une classe.
+-- Le partitionnement MySQL n'est pas utilisé : InnoDB refuse les clés étrangères sur
+-- une table partitionnée, et les tables actives en dépendent.
+
+create table academic_year_closures (
+    closed_at datetime(6) not null,
+    disciplines_archived integer,
+    documents_archived integer,
+    grades_archived integer,
+    payments_archived integer,
+    id bigint not null,
+    academic_year varchar(255) not null,
+    closed_by varchar(255),
+    primary key (id),
+    constraint uk_academic_year_closure unique (academic_year)
+) engine=InnoDB;
+
+create table academic_year_closures_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into academic_year_closures_seq values ( 1 );
+
+create table grades_archive (
+    grade_date date not null,
+    value decimal(5,2) not null,
+    id bigint not null,
+    student_id bigint not null,
+    subject_id bigint not null,
+    academic_year varchar(255) not null,
+    comments varchar(255),
+    exam_type varchar(255),
+    semester varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_grades_archive_student_year on grades_archive (student_id, academic_year);
+create index idx_grades_archive_year on grades_archive (academic_year);
+
+create table payments_archive (
+    amount decimal(10,2) not null,
+    payment_date date not null,
+    id bigint not null,
+    student_id bigint not null,
+    academic_year varchar(255) not null,
+    description varchar(255),
+    payment_type varchar(255) not null,
+    receipt_number varchar(255),
+    payment_mode enum ('BANK_TRANSFER','CASH','CHECK','MOBILE_MONEY') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_payments_archive_student_year on payments_archive (student_id, academic_year);
+create index idx_payments_archive_year on payments_archive (academic_year);
+
+create table disciplines_archive (
+    created_at date,
+    incident_date date not null,
+    resolved bit,
+    id bigint not null,
+    student_id bigint not null,
+    academic_year varchar(255) not null,
+    action TEXT,
+    description TEXT not null,
+    reported_by varchar(255),
+    type enum ('BLAME','CONVOCATION') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_disciplines_archive_student on disciplines_archive (student_id, incident_date);
+create index idx_disciplines_archive_year on disciplines_archive (academic_year);
+
+create table documents_archive (
+    created_at datetime(6) not null,
+    file_size bigint,
+    id bigint not null,
+    student_id bigint,
+    content_hash varchar(64),
+    academic_year varchar(255),
+    created_by varchar(255),
+    file_path varchar(255),
+    mime_type varchar(255),
+    name varchar(255) not null,
+    term varchar(255),
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_documents_archive_student on documents_archive (student_id);
+create index idx_documents_archive_year on documents_archive (academic_year);
+create index idx_documents_archive_content_hash on documents_archive (content_hash);
+
+-- Sélection des notes de l'année à clôturer (payments et documents ont déjà un index par année)
+create index idx_grades_year on grades (academic_year);
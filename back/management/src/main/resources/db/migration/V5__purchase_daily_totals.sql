@@ -0,0 +1,18 @@
+-- Cumul journalier des achats (PurchaseDailyTotal), alimenté ici à partir de l'existant
+-- puis tenu à jour par PurchaseService. Catégorie et fournisseur non renseignés : ''.
+
+create table purchase_daily_totals (
+    purchase_count integer not null,
+    purchase_date date not null,
+    total_amount decimal(14,2) not null,
+    id bigint not null auto_increment,
+    category varchar(255) not null,
+    supplier varchar(255) not null,
+    primary key (id),
+    constraint uk_purchase_daily_total unique (purchase_date, category, supplier)
+) engine=InnoDB;
+
+insert into purchase_daily_totals (purchase_date, category, supplier, total_amount, purchase_count)
+select purchase_date, coalesce(category, ''), coalesce(supplier, ''), sum(total_amount), count(*)
+from purchases
+group by purchase_date, coalesce(category, ''), coalesce(supplier, '');
@@ -0,0 +1,4 @@
+-- Garanties arrivant à échéance (EquipmentRepository) : plage sur la date d'expiration,
+-- triée par date puis id (l'id est inclus dans tout index secondaire InnoDB).
+-- L'index idx_equipment_maintenance_date (V2) sert déjà les requêtes de maintenance.
+create index idx_equipment_warranty_expiry on equipment (warranty_expiry_date);
@@ -0,0 +1,3 @@
+-- Date du dernier changement de mot de passe : les jetons émis avant sont refusés
+-- (UserAuthenticationConverter), ce qui ferme les sessions ouvertes avec l'ancien mot de passe.
+alter table users add column password_changed_at datetime(6);
@@ -0,0 +1,6 @@
+-- Pagination par clé des notes, classes et matières (/scroll) : tri par date ou par nom,
+-- puis id (l'id est inclus dans tout index secondaire InnoDB).
+-- Les utilisateurs sont servis par l'index unique sur username (V1).
+create index idx_grades_grade_date on grades (grade_date);
+create index idx_classes_name on classes (name);
+create index idx_subjects_name on subjects (name);
@@ -0,0 +1,23 @@
+-- Tables dont les identifiants sont alloués par Hibernate depuis <table>_seq (V3) : AUTO_INCREMENT
+-- est retiré. Conservé, il laissait une insertion SQL directe sans id prendre une valeur située dans
+-- un bloc déjà réservé par une instance, et l'insertion suivante de l'application échouait sur la
+-- clé primaire. Une insertion manuelle doit désormais fournir son id, lu puis avancé dans <table>_seq.
+-- student_balances et purchase_daily_totals restent en AUTO_INCREMENT (upserts SQL, IDENTITY).
+-- Le type des colonnes ne change pas ; les clés étrangères qui les référencent sont suspendues
+-- le temps des ALTER, que MySQL refuse sinon sur une colonne référencée.
+set foreign_key_checks = 0;
+
+alter table classes modify id bigint not null;
+alter table disciplines modify id bigint not null;
+alter table documents modify id bigint not null;
+alter table equipment modify id bigint not null;
+alter table fee_schedules modify id bigint not null;
+alter table payments modify id bigint not null;
+alter table purchases modify id bigint not null;
+alter table staff modify id bigint not null;
+alter table students modify id bigint not null;
+alter table subjects modify id bigint not null;
+alter table teachers modify id bigint not null;
+alter table users modify id bigint not null;
+
+set foreign_key_checks = 1;
@@ -0,0 +1,188 @@
+// RequestThroughputLoadTest.java
+package com.school.management;
+
+import com.school.management.entity.Student;
+import com.school.management.entity.User;
+import com.school.management.entity.enums.Gender;
+import com.school.management.entity.enums.Language;
+import com.school.management.entity.enums.Section;
+import com.school.management.entity.enums.UserRole;
+import com.school.management.repository.StudentRepository;
+import com.school.management.repository.UserRepository;
+import com.school.management.service.PrincipalCache;
+import com.school.management.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Débit et latence p99 de l'API sous 500 utilisateurs simultanés, avec le pool de threads
+ * Tomcat actuel puis avec les threads virtuels (profil Spring « virtual »). Chaque mode
+ * démarre sa propre instance de l'application sur un port libre ; les clients enchaînent
+ * les lectures paginées d'élèves sans temps de pause.
+ * Lancement : mvn -Pjava21 test -Dtest=RequestThroughputLoadTest -Dbenchmark=true (sous
+ * Java 17, seul le mode actuel est mesuré). Paramètres : -Dload.users, -Dload.seconds.
+ * Sur H2 en mémoire une requête ne bloque presque pas ; pour des chiffres représentatifs
+ * des attentes JDBC, pointer spring.datasource.* et le dialecte sur une base MySQL jetable.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RequestThroughputLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 500);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 30);
+    private static final int WARMUP_SECONDS = 5;
+    private static final int STUDENTS = 500;
+    private static final int PAGE_SIZE = 20;
+
+    @Test
+    void platformThreadsVersusVirtualThreads() throws Exception {
+        Result platform = run("platform", false);
+        System.out.println(platform);
+        assertThat(platform.errors()).isZero();
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("virtual : non mesuré, Java 21 requis (mvn -Pjava21)");
+            return;
+        }
+        Result virtual = run("virtual", true);
+        System.out.println(virtual);
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SchoolManagementApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+                        "logging.level.root=WARN");
+        builder = virtualThreads ? builder.profiles("test", "virtual") : builder.profiles("test");
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            String token = seed(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            load(client, baseUrl, token, WARMUP_SECONDS);
+            return load(client, baseUrl, token, SECONDS).named(mode);
+        }
+    }
+
+    private Result load(HttpClient client, String baseUrl, String token, int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService clients = Executors.newFixedThreadPool(USERS);
+        List<Future<long[]>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int user = 0; user < USERS; user++) {
+            int firstPage = user;
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int i = firstPage; System.nanoTime() < deadline; i++) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl
+                                    + "/api/students/paginated?size=" + PAGE_SIZE + "&page=" + i % (STUDENTS / PAGE_SIZE)))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - sent;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        List<long[]> perUser = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            perUser.add(future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+
+        long[] latencies = perUser.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(null, latencies.length, latencies.length * 1_000_000_000L / Math.max(elapsed, 1),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), errors.get());
+    }
+
+    // Un compte du personnel administratif et des élèves ; jeton émis sans passer par la connexion
+    private String seed(ConfigurableApplicationContext context) {
+        User user = new User();
+        user.setUsername("load");
+        user.setPassword("non utilisé");
+        user.setRole(UserRole.ADMIN_STAFF);
+        user.setFirstName("Test");
+        user.setLastName("Charge");
+        user.setEmail("load@example.org");
+        user = context.getBean(UserRepository.class).save(user);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setFirstName("Prénom" + i);
+            student.setLastName("Élève" + i);
+            student.setDateOfBirth(LocalDate.of(2016, 1, 1));
+            student.setGender(Gender.FEMALE);
+            student.setSection(Section.PRIMAIRE);
+            student.setLanguage(Language.FRANCOPHONE);
+            student.setAcademicYear("2024-2025");
+            student.setParentName("Parent" + i);
+            students.add(student);
+        }
+        context.getBean(StudentRepository.class).saveAll(students);
+
+        return (String) context.getBean(TokenService.class)
+                .issueTokens(context.getBean(PrincipalCache.class).get(user.getId()).orElseThrow())
+                .get("token");
+    }
+
+    private static double percentile(long[] sorted, double rank) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(rank * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    private record Result(String mode, long requests, long requestsPerSecond,
+                          double p50Millis, double p99Millis, long errors) {
+
+        Result named(String name) {
+            return new Result(name, requests, requestsPerSecond, p50Millis, p99Millis, errors);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s : %,d requêtes, %,d requêtes/s, p50 %.1f ms, p99 %.1f ms, %d erreurs",
+                    mode, requests, requestsPerSecond, p50Millis, p99Millis, errors);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+// SchemaMigrationTest.java
+package com.school.management;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mise à niveau d'une base existante : une copie du schéma de production d'avant Flyway
+ * (db/baseline_schema.sql), contenant déjà des données, est marquée en version 1 puis migrée
+ * jusqu'à la dernière version, et Hibernate valide le schéma obtenu au démarrage du contexte.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.school.management.SchemaMigrationTest$TableSequenceH2Dialect"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+    @Autowired private Flyway flyway;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // Séquences émulées par des tables (<table>_seq), comme avec le dialecte MySQL en production
+    public static class TableSequenceH2Dialect extends H2Dialect {
+
+        public TableSequenceH2Dialect(DialectResolutionInfo info) {
+            super(info);
+        }
+
+        @Override
+        public SequenceSupport getSequenceSupport() {
+            return NoSequenceSupport.INSTANCE;
+        }
+    }
+
+    @TestConfiguration
+    static class BaselineDatabase {
+
+        // Base de production simulée : schéma initial et quelques lignes, sans historique Flyway
+        @Bean
+        FlywayMigrationStrategy baselineThenMigrate() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/baseline_schema.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                jdbc.update("insert into students (id, first_name, last_name, date_of_birth, registration_date, " +
+                        "gender, section, language, academic_year, parent_name) " +
+                        "values (3, 'Awa', 'Ndiaye', '2016-01-01', '2024-09-01', 'FEMALE', 'PRIMAIRE', " +
+                        "'FRANCOPHONE', '2024-2025', 'Parent')");
+                jdbc.update("insert into subjects (id, name) values (1, 'Mathématiques')");
+                jdbc.update("insert into grades (id, student_id, subject_id, value, grade_date, semester, academic_year) " +
+                        "values (7, 3, 1, 14.5, '2024-10-01', 'S1', '2024-2025')");
+                jdbc.update("insert into documents (id, name, type, created_at) values (2, 'Bulletin', 'REPORT', now())");
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Test
+    void existingBaselineIsMigratedToTheLatestVersion() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion())
+                .isEqualTo(flyway.info().all()[flyway.info().all().length - 1].getVersion());
+        // Base marquée en version 1 : le schéma initial n'est pas rejoué
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where \"version\" = '1' and \"type\" = 'BASELINE'",
+                Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void existingRowsAreKeptAndSequencesStartAboveThem() {
+        assertThat(jdbcTemplate.queryForObject("select count(*) from grades", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select next_val from grades_seq", Long.class)).isEqualTo(58L);
+        assertThat(jdbcTemplate.queryForObject("select next_val from students_seq", Long.class)).isEqualTo(54L);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from documents where content_hash is null", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from student_balances", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+// config/ConditionalGetAspectTest.java
+package com.school.management.config;
+
+import com.school.management.controller.SubjectController;
+import com.school.management.entity.Subject;
+import com.school.management.entity.User;
+import com.school.management.entity.enums.UserRole;
+import com.school.management.repository.UserRepository;
+import com.school.management.service.PrincipalCache;
+import com.school.management.service.ResourceVersions;
+import com.school.management.service.ResourceVersions.Resource;
+import com.school.management.service.SubjectService;
+import com.school.management.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET conditionnels : 304 pour une version déjà reçue, nouvelle réponse après une
+ * écriture validée, et contrôle d'accès avant toute réponse 304.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetAspectTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TokenService tokenService;
+    @Autowired private PrincipalCache principalCache;
+    @Autowired private SubjectService subjectService;
+    @Autowired private SubjectController subjectController;
+    @Autowired private ResourceVersions resourceVersions;
+
+    private String authorization;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.findByUsername("enseignant").orElseGet(() -> {
+            User teacher = new User();
+            teacher.setUsername("enseignant");
+            teacher.setPassword("non utilisé");
+            teacher.setRole(UserRole.TEACHER);
+            teacher.setFirstName("Ibrahima");
+            teacher.setLastName("Fall");
+            teacher.setEmail("enseignant@example.org");
+            teacher.setActive(true);
+            return userRepository.save(teacher);
+        });
+        authorization = "Bearer " + tokenService.issueTokens(principalCache.get(user.getId()).orElseThrow())
+                .get("token");
+    }
+
+    @Test
+    void answersNotModifiedUntilTheListChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/subjects").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/");
+
+        mockMvc.perform(get("/api/subjects").header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        Subject subject = new Subject();
+        subject.setName("Histoire");
+        subject.setCode("HIST-" + System.nanoTime());
+        subjectService.createSubject(subject);
+
+        String changed = mockMvc.perform(get("/api/subjects").header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    // Appel direct du contrôleur, sans utilisateur : le contrôle d'accès passe avant le 304
+    @Test
+    void authorizationIsCheckedBeforeTheETag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/subjects");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, resourceVersions.etag(
+                Resource.SUBJECTS, Resource.CLASSES, Resource.TEACHERS));
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(request, new MockHttpServletResponse()));
+        try {
+            assertThatThrownBy(() -> subjectController.getAllSubjects())
+                    .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
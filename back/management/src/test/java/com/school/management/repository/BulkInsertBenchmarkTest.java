@@ -0,0 +1,243 @@
+// repository/BulkInsertBenchmarkTest.java
+package com.school.management.repository;
+
+import com.school.management.entity.Grade;
+import com.school.management.entity.Payment;
+import com.school.management.entity.Student;
+import com.school.management.entity.Subject;
+import com.school.management.entity.enums.Gender;
+import com.school.management.entity.enums.Language;
+import com.school.management.entity.enums.PaymentMode;
+import com.school.management.entity.enums.Section;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Débit d'insertion de 10 000 notes et 10 000 paiements : mêmes colonnes avec un
+ * identifiant IDENTITY (Hibernate insère alors ligne par ligne pour lire la clé générée),
+ * puis avec les entités réelles, dont les identifiants alloués par séquence permettent
+ * les lots JDBC. Les entités IDENTITY ne sont mappées que dans ce test
+ * (benchmark-identity-orm.xml). Lancement : mvn test -Dtest=BulkInsertBenchmarkTest -Dbenchmark=true. Sur H2 en
+ * mémoire l'aller-retour ne coûte presque rien ; pour des chiffres représentatifs,
+ * pointer spring.datasource.* et le dialecte sur une base MySQL jetable (le schéma
+ * est recréé par le test).
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.mapping-resources=benchmark-identity-orm.xml")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int BATCH_SIZE = 50;
+    private static final String YEAR = "2024-2025";
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Student> students;
+    private Subject subject;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        subject = new Subject();
+        subject.setName("Mathématiques");
+        entityManager.persist(subject);
+
+        students = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Student student = new Student();
+            student.setFirstName("Prénom" + i);
+            student.setLastName("Élève" + i);
+            student.setDateOfBirth(LocalDate.of(2016, 1, 1));
+            student.setGender(Gender.MALE);
+            student.setSection(Section.PRIMAIRE);
+            student.setLanguage(Language.FRANCOPHONE);
+            student.setAcademicYear(YEAR);
+            student.setParentName("Parent" + i);
+            entityManager.persist(student);
+            students.add(student);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void gradeInserts() {
+        compare("Grade", this::identityGrade, this::grade);
+    }
+
+    @Test
+    void paymentInserts() {
+        compare("Payment", this::identityPayment, this::payment);
+    }
+
+    private void compare(String entity, IntFunction<Object> identityFactory, IntFunction<Object> sequenceFactory) {
+        Result before = insert(identityFactory);
+        Result after = insert(sequenceFactory);
+        log.info("{} : {} lignes/s avec IDENTITY ({} requêtes), {} lignes/s avec séquence et lots ({} requêtes)",
+                entity, before.rowsPerSecond(), before.statements(), after.rowsPerSecond(), after.statements());
+        assertThat(after.statements()).isLessThan(before.statements() / 10);
+    }
+
+    // Même taille de lot pour les deux cas : Hibernate l'ignore pour les entités IDENTITY
+    private Result insert(IntFunction<Object> factory) {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        session.setJdbcBatchSize(BATCH_SIZE);
+        entityManager.clear();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(factory.apply(i));
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        long elapsed = System.nanoTime() - start;
+
+        entityManager.clear();
+        return new Result(ROWS * 1_000_000_000L / Math.max(elapsed, 1), statistics.getPrepareStatementCount());
+    }
+
+    private Grade grade(int i) {
+        Grade grade = new Grade();
+        grade.setStudent(entityManager.getEntityManager().getReference(Student.class, studentId(i)));
+        grade.setSubject(entityManager.getEntityManager().getReference(Subject.class, subject.getId()));
+        grade.setValue(BigDecimal.valueOf(i % 20));
+        grade.setSemester("1");
+        grade.setAcademicYear(YEAR);
+        return grade;
+    }
+
+    private IdentityGrade identityGrade(int i) {
+        IdentityGrade grade = new IdentityGrade();
+        grade.setStudent(entityManager.getEntityManager().getReference(Student.class, studentId(i)));
+        grade.setSubject(entityManager.getEntityManager().getReference(Subject.class, subject.getId()));
+        grade.setValue(BigDecimal.valueOf(i % 20));
+        grade.setSemester("1");
+        grade.setAcademicYear(YEAR);
+        return grade;
+    }
+
+    private IdentityPayment identityPayment(int i) {
+        IdentityPayment payment = new IdentityPayment();
+        payment.setStudent(entityManager.getEntityManager().getReference(Student.class, studentId(i)));
+        payment.setAmount(BigDecimal.valueOf(5000));
+        payment.setPaymentDate(LocalDate.of(2024, 10, 1));
+        payment.setPaymentMode(PaymentMode.CASH);
+        payment.setPaymentType("Scolarité");
+        payment.setAcademicYear(YEAR);
+        return payment;
+    }
+
+    private Payment payment(int i) {
+        Payment payment = new Payment();
+        payment.setStudent(entityManager.getEntityManager().getReference(Student.class, studentId(i)));
+        payment.setAmount(BigDecimal.valueOf(5000));
+        payment.setPaymentDate(LocalDate.of(2024, 10, 1));
+        payment.setPaymentMode(PaymentMode.CASH);
+        payment.setPaymentType("Scolarité");
+        payment.setAcademicYear(YEAR);
+        return payment;
+    }
+
+    private Long studentId(int i) {
+        return students.get(i % students.size()).getId();
+    }
+
+    private record Result(long rowsPerSecond, long statements) {
+    }
+
+    // Colonnes de Grade, identifiant IDENTITY (mapping d'avant les séquences)
+    @Data
+    @Table(name = "benchmark_identity_grades")
+    static class IdentityGrade {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "student_id", nullable = false)
+        private Student student;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "subject_id", nullable = false)
+        private Subject subject;
+
+        @Column(nullable = false, precision = 5, scale = 2)
+        private BigDecimal value;
+
+        @Column(nullable = false)
+        private String semester;
+
+        @Column(nullable = false)
+        private String academicYear;
+
+        @Column(nullable = false)
+        private LocalDate gradeDate = LocalDate.now();
+    }
+
+    // Colonnes de Payment, identifiant IDENTITY
+    @Data
+    @Table(name = "benchmark_identity_payments")
+    static class IdentityPayment {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "student_id", nullable = false)
+        private Student student;
+
+        @Column(nullable = false, precision = 10, scale = 2)
+        private BigDecimal amount;
+
+        @Column(nullable = false)
+        private LocalDate paymentDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private PaymentMode paymentMode;
+
+        @Column(nullable = false)
+        private String paymentType;
+
+        @Column(nullable = false)
+        private String academicYear;
+    }
+}
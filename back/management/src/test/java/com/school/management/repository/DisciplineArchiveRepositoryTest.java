@@ -0,0 +1,115 @@
+// repository/DisciplineArchiveRepositoryTest.java
+package com.school.management.repository;
+
+import com.school.management.entity.Discipline;
+import com.school.management.entity.DisciplineArchive;
+import com.school.management.entity.Payment;
+import com.school.management.entity.Student;
+import com.school.management.entity.enums.DisciplineType;
+import com.school.management.entity.enums.Gender;
+import com.school.management.entity.enums.Language;
+import com.school.management.entity.enums.PaymentMode;
+import com.school.management.entity.enums.Section;
+import com.school.management.service.AcademicYearService;
+import com.school.management.service.FeeLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Archivage des incidents à la clôture : seuls les incidents résolus survenus pendant
+ * l'année clôturée quittent la table active, sous le libellé de cette année.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AcademicYearService.class, FeeLedgerService.class})
+class DisciplineArchiveRepositoryTest {
+
+    private static final String YEAR = "2024-2025";
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 1);
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 9, 1);
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private DisciplineArchiveRepository disciplineArchiveRepository;
+    @Autowired private DisciplineRepository disciplineRepository;
+    @Autowired private AcademicYearService academicYearService;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        student = new Student();
+        student.setFirstName("Moussa");
+        student.setLastName("Diallo");
+        student.setDateOfBirth(LocalDate.of(2015, 5, 1));
+        student.setGender(Gender.MALE);
+        student.setSection(Section.PRIMAIRE);
+        student.setLanguage(Language.FRANCOPHONE);
+        student.setAcademicYear(YEAR);
+        student.setParentName("Parent");
+        entityManager.persist(student);
+    }
+
+    @Test
+    void copiesAndDeletesOnlyResolvedIncidentsOfTheClosingYear() {
+        incident(LocalDate.of(2024, 3, 10), true);   // année précédente
+        Discipline closing = incident(LocalDate.of(2025, 1, 15), true);
+        incident(LocalDate.of(2025, 2, 1), false);   // encore ouvert
+        incident(LocalDate.of(2025, 10, 5), true);   // année suivante
+        entityManager.flush();
+
+        int copied = disciplineArchiveRepository.copyResolvedDuring(YEAR, YEAR_START, YEAR_END);
+        int deleted = disciplineArchiveRepository.deleteArchivedFromActive(YEAR, YEAR_START, YEAR_END);
+        entityManager.clear();
+
+        assertThat(copied).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(disciplineArchiveRepository.findAll())
+                .extracting(DisciplineArchive::getId, DisciplineArchive::getAcademicYear)
+                .containsExactly(tuple(closing.getId(), YEAR));
+        assertThat(disciplineRepository.findAll())
+                .hasSize(3)
+                .extracting(Discipline::getId)
+                .doesNotContain(closing.getId());
+    }
+
+    @Test
+    void refusesToCloseAYearWhileAnEarlierOneIsOpen() {
+        Payment payment = new Payment();
+        payment.setStudent(student);
+        payment.setAmount(BigDecimal.valueOf(5000));
+        payment.setPaymentDate(LocalDate.of(2024, 3, 1));
+        payment.setPaymentMode(PaymentMode.CASH);
+        payment.setPaymentType("Tranche 3");
+        payment.setAcademicYear("2023-2024");
+        entityManager.persist(payment);
+        entityManager.flush();
+
+        assertThatThrownBy(() -> academicYearService.closeYear(YEAR, "direction"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2023-2024");
+    }
+
+    private Discipline incident(LocalDate date, boolean resolved) {
+        Discipline discipline = new Discipline();
+        discipline.setStudent(student);
+        discipline.setType(DisciplineType.BLAME);
+        discipline.setIncidentDate(date);
+        discipline.setDescription("Retard");
+        discipline.setResolved(resolved);
+        return entityManager.persist(discipline);
+    }
+}
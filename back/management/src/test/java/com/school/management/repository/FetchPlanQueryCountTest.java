@@ -0,0 +1,201 @@
+// repository/FetchPlanQueryCountTest.java
+package com.school.management.repository;
+
+import com.school.management.entity.Class;
+import com.school.management.entity.Discipline;
+import com.school.management.entity.Document;
+import com.school.management.entity.Grade;
+import com.school.management.entity.Payment;
+import com.school.management.entity.Student;
+import com.school.management.entity.Subject;
+import com.school.management.entity.Teacher;
+import com.school.management.entity.enums.DisciplineType;
+import com.school.management.entity.enums.Gender;
+import com.school.management.entity.enums.Language;
+import com.school.management.entity.enums.PaymentMode;
+import com.school.management.entity.enums.Section;
+import com.school.management.mapper.DisciplineMapper;
+import com.school.management.mapper.GradeMapper;
+import com.school.management.mapper.PaymentMapper;
+import com.school.management.mapper.StudentMapper;
+import com.school.management.mapper.TeacherMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garde-fou contre les requêtes N+1 : le nombre de requêtes d'une liste mappée en DTO
+ * ne doit pas dépendre du nombre de lignes renvoyées.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StudentMapper.class, GradeMapper.class, PaymentMapper.class, DisciplineMapper.class, TeacherMapper.class})
+class FetchPlanQueryCountTest {
+
+    private static final String YEAR = "2024-2025";
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Autowired private StudentRepository studentRepository;
+    @Autowired private GradeRepository gradeRepository;
+    @Autowired private PaymentRepository paymentRepository;
+    @Autowired private DisciplineRepository disciplineRepository;
+    @Autowired private DocumentRepository documentRepository;
+    @Autowired private TeacherRepository teacherRepository;
+
+    @Autowired private StudentMapper studentMapper;
+    @Autowired private GradeMapper gradeMapper;
+    @Autowired private PaymentMapper paymentMapper;
+    @Autowired private DisciplineMapper disciplineMapper;
+    @Autowired private TeacherMapper teacherMapper;
+
+    private Statistics statistics;
+    private Subject subject;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        subject = new Subject();
+        subject.setName("Mathématiques");
+        entityManager.persist(subject);
+    }
+
+    @Test
+    void studentListsDoNotLoadClassesOneByOne() {
+        assertConstantQueryCount(() -> studentRepository.findAll().stream().map(studentMapper::toResponse).toList());
+        assertConstantQueryCount(() -> studentRepository.findByAcademicYear(YEAR).stream()
+                .map(studentMapper::toResponse).toList());
+    }
+
+    @Test
+    void gradeListsDoNotLoadStudentsOrSubjectsOneByOne() {
+        assertConstantQueryCount(() -> gradeRepository.findBySubjectId(subject.getId()).stream()
+                .map(gradeMapper::toResponse).toList());
+    }
+
+    @Test
+    void paymentAndDisciplineListsDoNotLoadStudentsOneByOne() {
+        assertConstantQueryCount(() -> paymentRepository.findAll().stream().map(paymentMapper::toResponse).toList());
+        assertConstantQueryCount(() -> disciplineRepository.findAll().stream()
+                .map(disciplineMapper::toResponse).toList());
+    }
+
+    @Test
+    void documentListDoesNotLoadStudentsOneByOne() {
+        assertConstantQueryCount(() -> documentRepository.findAll().stream()
+                .map(document -> document.getStudent().getLastName()).toList());
+    }
+
+    @Test
+    void teacherListLoadsClassesInBatches() {
+        assertConstantQueryCount(() -> teacherRepository.findAll().stream().map(teacherMapper::toResponse).toList());
+    }
+
+    @Test
+    void rowProjectionsUseASingleQuery() {
+        seed(10);
+        assertThat(countQueries(() -> studentRepository.findAllRows(), 10)).isEqualTo(1);
+        assertThat(countQueries(() -> gradeRepository.findRowsBySubjectId(subject.getId()), 10)).isEqualTo(1);
+        assertThat(countQueries(() -> paymentRepository.findAllRows(), 10)).isEqualTo(1);
+        assertThat(countQueries(() -> disciplineRepository.findAllRows(), 10)).isEqualTo(1);
+    }
+
+    // Compare le nombre de requêtes pour 5 puis 50 élèves (chacun avec ses lignes liées)
+    private void assertConstantQueryCount(Supplier<List<?>> listing) {
+        seed(5);
+        long small = countQueries(listing, 5);
+        seed(45);
+        long large = countQueries(listing, 50);
+        assertThat(large).as("requêtes pour 50 lignes (contre %d pour 5)", small).isEqualTo(small);
+    }
+
+    private long countQueries(Supplier<List<?>> listing, int expectedRows) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        List<?> rows = listing.get();
+        assertThat(rows).hasSizeGreaterThanOrEqualTo(expectedRows);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = ++sequence;
+
+            Teacher teacher = new Teacher();
+            teacher.setFirstName("Prénom" + n);
+            teacher.setLastName("Enseignant" + n);
+            entityManager.persist(teacher);
+
+            Class studentClass = new Class();
+            studentClass.setName("Classe " + n);
+            studentClass.setLevel("CE1");
+            studentClass.setSection(Section.PRIMAIRE);
+            studentClass.setLanguage(Language.FRANCOPHONE);
+            studentClass.setAcademicYear(YEAR);
+            studentClass.setTeacher(teacher);
+            entityManager.persist(studentClass);
+            teacher.getClasses().add(studentClass);
+
+            Student student = new Student();
+            student.setFirstName("Prénom" + n);
+            student.setLastName("Élève" + n);
+            student.setDateOfBirth(LocalDate.of(2016, 1, 1));
+            student.setGender(Gender.FEMALE);
+            student.setSection(Section.PRIMAIRE);
+            student.setLanguage(Language.FRANCOPHONE);
+            student.setAcademicYear(YEAR);
+            student.setParentName("Parent" + n);
+            student.setStudentClass(studentClass);
+            entityManager.persist(student);
+
+            Grade grade = new Grade();
+            grade.setStudent(student);
+            grade.setSubject(subject);
+            grade.setValue(BigDecimal.TEN);
+            grade.setSemester("1");
+            grade.setAcademicYear(YEAR);
+            entityManager.persist(grade);
+
+            Payment payment = new Payment();
+            payment.setStudent(student);
+            payment.setAmount(BigDecimal.valueOf(5000));
+            payment.setPaymentDate(LocalDate.of(2024, 10, 1));
+            payment.setPaymentMode(PaymentMode.CASH);
+            payment.setPaymentType("Inscription");
+            payment.setAcademicYear(YEAR);
+            entityManager.persist(payment);
+
+            Discipline discipline = new Discipline();
+            discipline.setStudent(student);
+            discipline.setType(DisciplineType.BLAME);
+            discipline.setIncidentDate(LocalDate.of(2024, 11, 1));
+            discipline.setDescription("Retard");
+            entityManager.persist(discipline);
+
+            Document document = new Document();
+            document.setName("bulletin.pdf");
+            document.setType("Bulletin");
+            document.setStudent(student);
+            entityManager.persist(document);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+// repository/StudentBalanceRefreshTest.java
+package com.school.management.repository;
+
+import com.school.management.entity.Class;
+import com.school.management.entity.FeeSchedule;
+import com.school.management.entity.Payment;
+import com.school.management.entity.Student;
+import com.school.management.entity.StudentBalance;
+import com.school.management.entity.enums.Gender;
+import com.school.management.entity.enums.Language;
+import com.school.management.entity.enums.PaymentMode;
+import com.school.management.entity.enums.Section;
+import com.school.management.service.FeeLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Soldes matérialisés : un paiement est imputé sur l'année qu'il porte, même quand
+ * ce n'est pas l'année d'inscription actuelle de l'élève.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(FeeLedgerService.class)
+class StudentBalanceRefreshTest {
+
+    private static final String PREVIOUS_YEAR = "2024-2025";
+    private static final String CURRENT_YEAR = "2025-2026";
+
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private StudentBalanceRepository studentBalanceRepository;
+    @Autowired private FeeLedgerService feeLedgerService;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        Class studentClass = new Class();
+        studentClass.setName("CE2 A");
+        studentClass.setLevel("CE2");
+        studentClass.setSection(Section.PRIMAIRE);
+        studentClass.setLanguage(Language.FRANCOPHONE);
+        studentClass.setAcademicYear(CURRENT_YEAR);
+        entityManager.persist(studentClass);
+
+        student = new Student();
+        student.setFirstName("Awa");
+        student.setLastName("Ndiaye");
+        student.setDateOfBirth(LocalDate.of(2016, 1, 1));
+        student.setGender(Gender.FEMALE);
+        student.setSection(Section.PRIMAIRE);
+        student.setLanguage(Language.FRANCOPHONE);
+        student.setAcademicYear(CURRENT_YEAR);
+        student.setParentName("Parent");
+        student.setStudentClass(studentClass);
+        entityManager.persist(student);
+
+        feeSchedule(PREVIOUS_YEAR, null, 100_000);
+        feeSchedule(CURRENT_YEAR, null, 120_000);
+    }
+
+    @Test
+    void priorYearPaymentIsBookedOnItsOwnYear() {
+        pay(PREVIOUS_YEAR, 30_000);
+
+        StudentBalance previous = balance(PREVIOUS_YEAR);
+        assertThat(previous.getAmountDue()).isEqualByComparingTo("100000");
+        assertThat(previous.getAmountPaid()).isEqualByComparingTo("30000");
+        assertThat(previous.getOutstanding()).isEqualByComparingTo("70000");
+
+        // Le solde existe désormais : le paiement suivant est imputé par UPDATE
+        pay(PREVIOUS_YEAR, 20_000);
+        assertThat(balance(PREVIOUS_YEAR).getOutstanding()).isEqualByComparingTo("50000");
+        assertThat(studentBalanceRepository.findByStudentIdAndAcademicYear(student.getId(), CURRENT_YEAR)).isEmpty();
+    }
+
+    @Test
+    void rebuildAllRestoresPriorYearBalances() {
+        pay(PREVIOUS_YEAR, 30_000);
+        entityManager.flush();
+        // Écart introduit hors du chemin des paiements : le recalcul nocturne doit le corriger
+        studentBalanceRepository.applyPayment(student.getId(), PREVIOUS_YEAR,
+                BigDecimal.valueOf(5_000), LocalDateTime.now());
+
+        feeLedgerService.rebuildAll();
+
+        StudentBalance previous = balance(PREVIOUS_YEAR);
+        assertThat(previous.getAmountPaid()).isEqualByComparingTo("30000");
+        assertThat(previous.getOutstanding()).isEqualByComparingTo("70000");
+        assertThat(balance(CURRENT_YEAR).getOutstanding()).isEqualByComparingTo("120000");
+    }
+
+    @Test
+    void updateRejectsADuplicateScheduleWithoutLevel() {
+        FeeSchedule levelSchedule = feeSchedule(CURRENT_YEAR, "CE2", 130_000);
+        entityManager.flush();
+
+        FeeSchedule update = new FeeSchedule();
+        update.setSection(Section.PRIMAIRE);
+        update.setAcademicYear(CURRENT_YEAR);
+        update.setAmount(BigDecimal.valueOf(130_000));
+
+        assertThatThrownBy(() -> feeLedgerService.updateFeeSchedule(levelSchedule.getId(), update))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private FeeSchedule feeSchedule(String year, String level, long amount) {
+        FeeSchedule feeSchedule = new FeeSchedule();
+        feeSchedule.setSection(Section.PRIMAIRE);
+        feeSchedule.setLevel(level);
+        feeSchedule.setAcademicYear(year);
+        feeSchedule.setAmount(BigDecimal.valueOf(amount));
+        return entityManager.persist(feeSchedule);
+    }
+
+    private void pay(String year, long amount) {
+        Payment payment = new Payment();
+        payment.setStudent(student);
+        payment.setAmount(BigDecimal.valueOf(amount));
+        payment.setPaymentDate(LocalDate.of(2025, 9, 15));
+        payment.setPaymentMode(PaymentMode.CASH);
+        payment.setPaymentType("Tranche 1");
+        payment.setAcademicYear(year);
+        entityManager.persist(payment);
+        feeLedgerService.paymentRecorded(payment);
+    }
+
+    private StudentBalance balance(String year) {
+        entityManager.flush();
+        entityManager.clear();
+        return studentBalanceRepository.findByStudentIdAndAcademicYear(student.getId(), year).orElseThrow();
+    }
+}
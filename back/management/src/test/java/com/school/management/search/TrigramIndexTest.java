@@ -0,0 +1,55 @@
+// search/TrigramIndexTest.java
+package com.school.management.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "Jean", "Martin");
+        index.put(2L, "Élodie", "Ndiaye");
+        index.put(3L, "Arnaud", "Faye");
+        index.put(4L, "Marie", "Diop");
+    }
+
+    @Test
+    void prefixMatchesComeFirst() {
+        assertThat(index.search("mar")).containsExactly(4L, 1L);
+        assertThat(index.search("ndia")).containsExactly(2L);
+    }
+
+    @Test
+    void infixMatchesAreFound() {
+        assertThat(index.search("rti")).containsExactly(1L);
+        assertThat(index.search("diaye")).containsExactly(2L);
+    }
+
+    @Test
+    void accentsAndCaseAreIgnored() {
+        assertThat(index.search("elodie")).containsExactly(2L);
+        assertThat(index.search("ÉLO")).containsExactly(2L);
+        assertThat(TrigramIndex.normalize("  Éloïse-Marie ")).isEqualTo("eloise marie");
+    }
+
+    @Test
+    void shortQueriesMatchInsideWords() {
+        // « ar » : début de mot (Arnaud) avant l'intérieur d'un mot (Martin, Marie)
+        assertThat(index.search("ar")).containsExactly(3L, 4L, 1L);
+        assertThat(index.search("y")).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.search("DÍ")).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void removedEntriesAreNoLongerFound() {
+        index.remove(1L);
+        assertThat(index.search("rti")).isEmpty();
+        assertThat(index.search("ti")).isEmpty();
+    }
+}
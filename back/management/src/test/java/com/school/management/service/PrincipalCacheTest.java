@@ -0,0 +1,93 @@
+// service/PrincipalCacheTest.java
+package com.school.management.service;
+
+import com.school.management.config.ReplicaRoutingDataSource;
+import com.school.management.entity.User;
+import com.school.management.entity.enums.UserRole;
+import com.school.management.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Un compte désactivé perd l'accès dès la requête suivante, sans attendre
+ * l'expiration du cache des utilisateurs authentifiés ; un mot de passe changé
+ * est vérifié sur la base principale dès la connexion suivante.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PrincipalCacheTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepository;
+    @Autowired private UserService userService;
+    @Autowired private TokenService tokenService;
+    @Autowired private PrincipalCache principalCache;
+    @Autowired private PasswordHasher passwordHasher;
+    @Autowired private ReplicaRoutingDataSource readOnlyDataSource;
+
+    @Test
+    void deactivatedUserIsRejectedOnTheNextRequest() throws Exception {
+        User user = new User();
+        user.setUsername("secretariat");
+        user.setPassword("non utilisé");
+        user.setRole(UserRole.ADMIN_STAFF);
+        user.setFirstName("Fatou");
+        user.setLastName("Sarr");
+        user.setEmail("secretariat@example.org");
+        user.setActive(true);
+        user = userRepository.save(user);
+
+        String token = (String) tokenService.issueTokens(principalCache.get(user.getId()).orElseThrow()).get("token");
+        String authorization = "Bearer " + token;
+
+        // Première requête : le compte actif est mis en cache
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk());
+
+        userService.deactivateUser(user.getId());
+
+        mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void oldPasswordIsRejectedRightAfterAPasswordChange() {
+        User user = new User();
+        user.setUsername("comptable");
+        user.setPassword(passwordHasher.encode("ancien-mot-de-passe").join());
+        user.setRole(UserRole.ADMIN_STAFF);
+        user.setFirstName("Moussa");
+        user.setLastName("Diallo");
+        user.setEmail("comptable@example.org");
+        user.setActive(true);
+        user = userRepository.save(user);
+
+        userService.changePassword(user.getId(), "nouveau-mot-de-passe");
+        long readOnlyConnections = readOnlyConnections();
+
+        assertThat(userService.authenticate("comptable", "ancien-mot-de-passe", "10.0.0.1").join())
+                .containsEntry("success", false);
+        assertThat(userService.authenticate("comptable", "nouveau-mot-de-passe", "10.0.0.1").join())
+                .containsEntry("success", true);
+        // Compte lu dans une transaction en écriture : aucune connexion demandée à la réplique
+        assertThat(readOnlyConnections()).isEqualTo(readOnlyConnections);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long readOnlyConnections() {
+        Map<String, Long> connections = (Map<String, Long>) readOnlyDataSource.getStatistics().get("readOnlyConnections");
+        return connections.values().stream().mapToLong(Long::longValue).sum();
+    }
+}